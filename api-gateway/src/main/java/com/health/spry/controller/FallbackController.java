@@ -1,8 +1,6 @@
 package com.health.spry.controller;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +8,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.health.spry.common.exception.ErrorResponse;
+
 @RestController
 @RequestMapping("/fallback")
 public class FallbackController {
@@ -24,7 +24,7 @@ public class FallbackController {
             RequestMethod.DELETE, 
             RequestMethod.PATCH
     })
-    public ResponseEntity<Map<String, Object>> bookServiceFallback() {
+    public ResponseEntity<ErrorResponse> bookServiceFallback() {
         return createFallbackResponse("BOOK-SERVICE");
     }
 
@@ -35,7 +35,7 @@ public class FallbackController {
             RequestMethod.DELETE, 
             RequestMethod.PATCH
     })
-    public ResponseEntity<Map<String, Object>> loginServiceFallback() {
+    public ResponseEntity<ErrorResponse> loginServiceFallback() {
         return createFallbackResponse("LOGIN-SERVICE");
     }
     
@@ -43,7 +43,7 @@ public class FallbackController {
             RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, 
             RequestMethod.DELETE, RequestMethod.PATCH, RequestMethod.OPTIONS
     })
-    public ResponseEntity<Map<String, Object>> defaultFallback() {
+    public ResponseEntity<ErrorResponse> defaultFallback() {
         return createFallbackResponse("Requested service");
     }
     
@@ -54,18 +54,18 @@ public class FallbackController {
             RequestMethod.DELETE, 
             RequestMethod.PATCH
     })
-    public ResponseEntity<Map<String, Object>> signupServiceFallback() {
+    public ResponseEntity<ErrorResponse> signupServiceFallback() {
         return createFallbackResponse("SIGNUP-SERVICE");
     }
 
-    private ResponseEntity<Map<String, Object>> createFallbackResponse(String serviceName) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
-        response.put("error", "Service Unavailable");
-        //response.put("code", "SERVICE_001");
-        response.put("message", String.format("%s is currently unavailable to the gateway. Please try again later. It may take few seconds to register service . "
-        		+ "If it does not work in few soconds, please check with Support team", serviceName));
+    private ResponseEntity<ErrorResponse> createFallbackResponse(String serviceName) {
+        ErrorResponse response = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message(String.format("%s is currently unavailable to the gateway. Please try again later. It may take few seconds to register service . "
+                		+ "If it does not work in few soconds, please check with Support team", serviceName))
+                .build();
         
         return ResponseEntity
                 .status(HttpStatus.SERVICE_UNAVAILABLE)
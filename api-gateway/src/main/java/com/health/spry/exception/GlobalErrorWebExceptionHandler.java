@@ -2,6 +2,7 @@ package com.health.spry.exception;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.health.spry.common.exception.ErrorResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.web.reactive.error.ErrorWebExceptionHandler;
@@ -18,8 +19,6 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
 
 @Component
 @Order(-2)
@@ -32,7 +31,6 @@ public class GlobalErrorWebExceptionHandler implements ErrorWebExceptionHandler
     @Override
     public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
         
-        Map<String, Object> errorResponse = new HashMap<>();
         HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
         String message = "An unexpected error occurred";
 
@@ -75,12 +73,12 @@ public class GlobalErrorWebExceptionHandler implements ErrorWebExceptionHandler
             message = "Internal gateway error";
         }
 
-        errorResponse.put("timestamp", LocalDateTime.now().toString());
-        //errorResponse.put("path", exchange.getRequest().getPath().value());
-        errorResponse.put("status", status.value());
-        errorResponse.put("error", status.getReasonPhrase());
-        errorResponse.put("message", message);
-        //errorResponse.put("requestId", exchange.getRequest().getId());
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .build();
 
         // Set response status
         exchange.getResponse().setStatusCode(status);
@@ -0,0 +1,77 @@
+package com.health.spry.filter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps service-to-service endpoints off the gateway. The discovery locator routes
+ * /{service-id}/** to every registered service, which would otherwise expose e.g.
+ * /login-service/internal/user-cache/{username} to the internet.
+ *
+ * The gateway forwards the raw path, so the check runs on what the service will resolve:
+ * percent-decoded, with dot segments applied and matrix parameters dropped. Otherwise
+ * /login-service/%69nternal/... or /login-service/x/../internal/... would get through.
+ */
+@Component
+@Slf4j
+public class InternalPathFilter implements GlobalFilter, Ordered {
+
+    private static final String INTERNAL_SEGMENT = "internal";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (isInternal(exchange.getRequest().getURI().getPath())) {
+            log.warn("Rejected request to internal path {}", exchange.getRequest().getPath());
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return exchange.getResponse().setComplete();
+        }
+        return chain.filter(exchange);
+    }
+
+    /**
+     * True for /{service-id}/internal/** once the decoded path is normalized.
+     * Also true for a path that climbs above the root, which no service should be sent.
+     */
+    static boolean isInternal(String decodedPath) {
+        if (decodedPath == null) {
+            return false;
+        }
+        Deque<String> segments = new ArrayDeque<>();
+        for (String segment : decodedPath.split("/")) {
+            int params = segment.indexOf(';');
+            if (params >= 0) {
+                segment = segment.substring(0, params);
+            }
+            if (segment.isEmpty() || segment.equals(".")) {
+                continue;
+            }
+            if (segment.equals("..")) {
+                if (segments.pollLast() == null) {
+                    return true;
+                }
+                continue;
+            }
+            segments.addLast(segment);
+        }
+        if (segments.size() < 2) {
+            return false;
+        }
+        segments.pollFirst();
+        return segments.peekFirst().equalsIgnoreCase(INTERNAL_SEGMENT);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
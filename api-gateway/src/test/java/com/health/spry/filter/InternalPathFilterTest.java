@@ -0,0 +1,79 @@
+package com.health.spry.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+class InternalPathFilterTest {
+
+    private final InternalPathFilter filter = new InternalPathFilter();
+
+    @Test
+    void rejectsInternalPaths() {
+        assertRejected("/login-service/internal/user-cache/alice");
+        assertRejected("/book-service/internal");
+    }
+
+    @Test
+    void rejectsPercentEncodedInternalPaths() {
+        assertRejected("/login-service/%69nternal/user-cache/x");
+        assertRejected("/login-service/%69%6E%74%65%72%6E%61%6C/user-cache/x");
+        assertRejected("/login-service%2Finternal/user-cache/x");
+    }
+
+    @Test
+    void rejectsInternalPathsHiddenBehindDotSegmentsOrParameters() {
+        assertRejected("/login-service/api/../internal/user-cache/x");
+        assertRejected("/login-service/%2e%2e/login-service/internal/user-cache/x");
+        assertRejected("//login-service/./internal/user-cache/x");
+        assertRejected("/login-service/internal;v=1/user-cache/x");
+        assertRejected("/login-service/INTERNAL/user-cache/x");
+        assertRejected("/../login-service/api/auth/login");
+    }
+
+    @Test
+    void passesEverythingElse() {
+        assertPassed("/login-service/api/auth/login");
+        assertPassed("/book-service/api/books/internal");
+        assertPassed("/book-service/api/books?filter=/x/internal/y");
+        assertPassed("/internal/health");
+        assertPassed("/");
+    }
+
+    private void assertRejected(String rawPath) {
+        MockServerWebExchange exchange = exchange(rawPath);
+
+        assertThat(forwarded(exchange)).as(rawPath).isFalse();
+        assertThat(exchange.getResponse().getStatusCode()).as(rawPath).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private void assertPassed(String rawPath) {
+        MockServerWebExchange exchange = exchange(rawPath);
+
+        assertThat(forwarded(exchange)).as(rawPath).isTrue();
+        assertThat(exchange.getResponse().getStatusCode()).as(rawPath).isNull();
+    }
+
+    private boolean forwarded(MockServerWebExchange exchange) {
+        AtomicBoolean forwarded = new AtomicBoolean();
+        filter.filter(exchange, ignored -> {
+            forwarded.set(true);
+            return Mono.empty();
+        }).block();
+        return forwarded.get();
+    }
+
+    private static MockServerWebExchange exchange(String rawPath) {
+        // URI.create keeps the path as sent instead of encoding it again
+        return MockServerWebExchange.from(MockServerHttpRequest.method(HttpMethod.GET, URI.create("http://gateway" + rawPath)));
+    }
+}
@@ -0,0 +1,42 @@
+#!/bin/bash
+# Load tests book-service once with platform threads and once with virtual threads.
+#
+# Needs the stack from run-lms-end-to-end-with-docker.sh, hey (https://github.com/rakyll/hey)
+# and a JWT from /api/auth/login:
+#   TOKEN=<jwt> ./benchmark-virtual-threads.sh
+
+set -e
+
+if [ -z "$TOKEN" ]; then
+  echo "Set TOKEN to a JWT from /api/auth/login"
+  exit 1
+fi
+
+URL=${URL:-"http://localhost:8083/api/books?size=20"}
+DURATION=${DURATION:-30s}
+CONCURRENCY=${CONCURRENCY:-"50 200 1000"}
+COMPOSE="docker-compose -f docker-compose-lms-end-to-end.yaml"
+
+for profile in "" virtual-threads; do
+  echo "=== SPRING_PROFILES_ACTIVE=${profile:-<none>} ==="
+  # tracePinnedThreads prints a stack trace to the container log whenever a virtual thread pins its carrier
+  SPRING_PROFILES_ACTIVE=$profile JAVA_TOOL_OPTIONS="-Djdk.tracePinnedThreads=short" \
+    $COMPOSE up -d --no-deps book-service
+
+  echo "waiting for book-service..."
+  until curl -sf http://localhost:8083/actuator/health > /dev/null; do sleep 2; done
+
+  # Warm up the JIT and the connection pool before measuring
+  hey -z 10s -c 50 -H "Authorization: Bearer $TOKEN" "$URL" > /dev/null
+
+  for c in $CONCURRENCY; do
+    echo "--- concurrency $c"
+    hey -z "$DURATION" -c "$c" -H "Authorization: Bearer $TOKEN" "$URL" \
+      | grep -E "Requests/sec|Average|99% in|\[[0-9]{3}\]"
+  done
+
+  echo "--- frames holding a monitor while pinned (0 means no pinning was traced)"
+  $COMPOSE logs book-service | grep -c "<== monitors" || true
+done
+
+SPRING_PROFILES_ACTIVE= $COMPOSE up -d --no-deps book-service
@@ -13,9 +13,10 @@ import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
-import com.health.spry.kafka.BookNotificationEvent;
+import com.health.spry.common.event.BookNotificationEvent;
+import com.health.spry.common.kafka.BinaryEventSerializer;
+import com.health.spry.common.kafka.BookNotificationEventSerializer;
 
 @Configuration
 public class KafkaConfig {
@@ -26,13 +27,51 @@ public class KafkaConfig {
     @Value("${kafka.topic.book-notification}")
     private String topic;
 
+    @Value("${kafka.topic.partitions:12}")
+    private int topicPartitions;
+
+    @Value("${kafka.topic.replicas:1}")
+    private int topicReplicas;
+
+    @Value("${kafka.event-format:binary}")
+    private String eventFormat;
+
+    @Value("${kafka.producer.profile:throughput}")
+    private String producerProfile;
+
+    // Optional per-setting overrides on top of the selected profile
+    @Value("${kafka.producer.linger-ms:#{null}}")
+    private Integer lingerMs;
+
+    @Value("${kafka.producer.batch-size:#{null}}")
+    private Integer batchSize;
+
+    @Value("${kafka.producer.compression-type:#{null}}")
+    private String compressionType;
+
+    @Value("${kafka.producer.max-block-ms:5000}")
+    private long maxBlockMs;
+
     @Bean
     public ProducerFactory<String, BookNotificationEvent> producerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
+        KafkaProducerProfile profile = KafkaProducerProfile.valueOf(producerProfile.trim().toUpperCase());
+        Map<String, Object> configProps = new HashMap<>(profile.producerProperties());
+        if (lingerMs != null) {
+            configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        }
+        if (batchSize != null) {
+            configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        }
+        if (compressionType != null) {
+            configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        }
+        // Fail fast instead of blocking request threads for the 60s default when the broker is unreachable
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, BookNotificationEventSerializer.class);
+        // "json" keeps the old wire format while JSON-only consumers are still deployed
+        configProps.put(BinaryEventSerializer.FORMAT_CONFIG, eventFormat);
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
@@ -43,10 +82,11 @@ public class KafkaConfig {
     
     @Bean
     public NewTopic myTopic() {
-        // Define the topic name, partitions, and replication factor
+        // Partition count is the ceiling for notification-service consumer concurrency.
+        // KafkaAdmin adds partitions to an existing topic when this is raised; it never removes them.
         return TopicBuilder.name(topic)
-                .partitions(3)
-                .replicas(1)
+                .partitions(topicPartitions)
+                .replicas(topicReplicas)
                 .build();
     }
 }
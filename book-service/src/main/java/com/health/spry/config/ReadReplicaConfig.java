@@ -0,0 +1,84 @@
+package com.health.spry.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.health.spry.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends read-only transactions to the read replicas listed in
+ * book.datasource.read-replicas.urls and everything else to spring.datasource.
+ * Without replica urls this configuration is skipped and Spring Boot's single
+ * datasource is used as before.
+ *
+ * The routing works through LazyConnectionDataSourceProxy: the physical connection
+ * is only fetched at the first statement, after the transaction has marked the
+ * connection read-only, and read-only connections come from the replicas.
+ */
+@Configuration
+@ConditionalOnExpression("'${book.datasource.read-replicas.urls:}' != ''")
+public class ReadReplicaConfig {
+
+    @Value("${book.datasource.read-replicas.urls}")
+    private String[] replicaUrls;
+
+    @Value("${book.datasource.read-replicas.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${book.datasource.read-replicas.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${book.datasource.read-replicas.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /** Not an autowire candidate, so health checks and pool metrics only see the real pools. */
+    @Bean(autowireCandidate = false)
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, MeterRegistry meterRegistry) {
+        String poolPrefix = primaryDataSource.getPoolName() != null ? primaryDataSource.getPoolName() : "book-service";
+        List<HikariDataSource> replicaPools = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.length; i++) {
+            HikariDataSource replica = new HikariDataSource();
+            // Same pool sizing and driver properties as the primary
+            primaryDataSource.copyStateTo(replica);
+            replica.setPoolName(poolPrefix + "-replica-" + (i + 1));
+            replica.setJdbcUrl(replicaUrls[i].trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setReadOnly(true);
+            if (replica.getMetricsTrackerFactory() == null && replica.getMetricRegistry() == null) {
+                replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            }
+            replicaPools.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaPools, maxLagSeconds, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource(primaryDataSource, meterRegistry));
+        return dataSource;
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,8 +19,17 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.health.spry.dto.BookRequest;
 import com.health.spry.dto.BookResponse;
+import com.health.spry.dto.FacetedSearchResponse;
+import com.health.spry.dto.MostWantedBookResponse;
 import com.health.spry.dto.PagedResponse;
+import com.health.spry.dto.SuggestionResponse;
+import com.health.spry.dto.WishlistBulkRequest;
+import com.health.spry.dto.WishlistBulkResponse;
+import com.health.spry.dto.WishlistPageResponse;
 import com.health.spry.dto.WishlistRequest;
+import com.health.spry.model.AvailabilityStatus;
+import com.health.spry.security.AuthenticatedUser;
+import com.health.spry.security.JwtAuthenticationException;
 import com.health.spry.service.BookService;
 import com.health.spry.service.WishlistService;
 
@@ -31,6 +41,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
@@ -68,7 +79,7 @@ public class BookController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all books", description = "Retrieve a paginated list of books with optional (id, title, author, published-year) filters")
+    @Operation(summary = "Get all books", description = "Retrieve a paginated list of books with optional (author, published-year, availability-status) filters")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Books retrieved successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = PagedResponse.class))),
@@ -78,11 +89,12 @@ public class BookController {
     public ResponseEntity<PagedResponse<BookResponse>> getAllBooks(
             @Parameter(description = "Filter by author name") @RequestParam(required = false) String author,
             @Parameter(description = "Filter by published year") @RequestParam(required = false) Integer publishedYear,
+            @Parameter(description = "Filter by availability status") @RequestParam(required = false) AvailabilityStatus availabilityStatus,
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") @Min(0) int page,
             @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") @Min(1) int size,
             @Parameter(description = "Sort by field (id, title, author, publishedYear)") @RequestParam(defaultValue = "id") String sortBy) {
         log.info("Received request to get all books");
-        PagedResponse<BookResponse> response = bookService.getAllBooks(author, publishedYear, page, size, sortBy);
+        PagedResponse<BookResponse> response = bookService.getAllBooks(author, publishedYear, availabilityStatus, page, size, sortBy);
         return ResponseEntity.ok(response);
     }
 
@@ -157,8 +169,45 @@ public class BookController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest titles and authors", description = "Autocomplete on title and author words, most wished-for first. The last word is matched as a prefix; fuzzy also allows one typo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Invalid query",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content)
+    })
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @Parameter(description = "Text typed so far", required = true)
+            @RequestParam @NotBlank(message = "Query is required") String query,
+            @Parameter(description = "Number of suggestions (max 10)") @RequestParam(defaultValue = "10") @Min(1) @Max(10) int limit,
+            @Parameter(description = "Also match words within one typo of the query") @RequestParam(defaultValue = "false") boolean fuzzy) {
+        return ResponseEntity.ok(bookService.suggest(query, limit, fuzzy));
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Faceted search", description = "Paginated books matching the optional filters, with counts per author, published year and availability status over all matches")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Books and facet counts retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = FacetedSearchResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content)
+    })
+    public ResponseEntity<FacetedSearchResponse> facetedSearch(
+            @Parameter(description = "Filter by author name") @RequestParam(required = false) String author,
+            @Parameter(description = "Filter by published year") @RequestParam(required = false) Integer publishedYear,
+            @Parameter(description = "Filter by availability status") @RequestParam(required = false) AvailabilityStatus availabilityStatus,
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") @Min(1) int size,
+            @Parameter(description = "Most values returned per author and year facet (max 100)") @RequestParam(defaultValue = "20") @Min(1) @Max(100) int facetLimit) {
+        log.info("Received faceted search request");
+        return ResponseEntity.ok(bookService.facetedSearch(author, publishedYear, availabilityStatus, page, size, facetLimit));
+    }
+
     @PostMapping("/wishlist")
-    @Operation(summary = "Add book to wishlist", description = "Add a book to user's wishlist for availability notifications")
+    @Operation(summary = "Add book to wishlist", description = "Add a book to the authenticated user's wishlist for availability notifications")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Book added to wishlist"),
             @ApiResponse(responseCode = "400", description = "Invalid input",
@@ -166,12 +215,76 @@ public class BookController {
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content)
     })
-    public ResponseEntity<String> addToWishlist(@Valid @RequestBody WishlistRequest request) {
+    public ResponseEntity<String> addToWishlist(@Parameter(hidden = true) @AuthenticationPrincipal AuthenticatedUser user,
+                                                @Valid @RequestBody WishlistRequest request) {
         log.info("Received request to add book to wishlist");
-        wishlistService.addToWishlist(request);
+        wishlistService.addToWishlist(currentUserId(user), request);
         return ResponseEntity.ok("Book Added to the wishlist");
     }
 
+    @PostMapping("/wishlist/bulk")
+    @Operation(summary = "Add books to wishlist", description = "Add up to 500 books to the authenticated user's wishlist in one call. Books already on the wishlist are skipped and unknown books are listed in notFoundBookIds")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Books added to wishlist",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = WishlistBulkResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content)
+    })
+    public ResponseEntity<WishlistBulkResponse> addAllToWishlist(@Parameter(hidden = true) @AuthenticationPrincipal AuthenticatedUser user,
+                                                                 @Valid @RequestBody WishlistBulkRequest request) {
+        log.info("Received request to add {} books to wishlist", request.getBookIds().size());
+        return ResponseEntity.ok(wishlistService.addAllToWishlist(currentUserId(user), request));
+    }
+
+    @DeleteMapping("/wishlist/bulk")
+    @Operation(summary = "Remove books from wishlist", description = "Remove up to 500 books from the authenticated user's wishlist in one call")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Books removed from wishlist",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = WishlistBulkResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content)
+    })
+    public ResponseEntity<WishlistBulkResponse> removeAllFromWishlist(@Parameter(hidden = true) @AuthenticationPrincipal AuthenticatedUser user,
+                                                                      @Valid @RequestBody WishlistBulkRequest request) {
+        log.info("Received request to remove {} books from wishlist", request.getBookIds().size());
+        return ResponseEntity.ok(wishlistService.removeAllFromWishlist(currentUserId(user), request));
+    }
+
+    @GetMapping("/wishlist")
+    @Operation(summary = "Get wishlist", description = "The authenticated user's wishlist, newest entries first. Pass nextCursor from the previous page as 'before' to load older ones")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Wishlist retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = WishlistPageResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content)
+    })
+    public ResponseEntity<WishlistPageResponse> getWishlist(
+            @Parameter(hidden = true) @AuthenticationPrincipal AuthenticatedUser user,
+            @Parameter(description = "Only entries older than this wishlist entry id") @RequestParam(required = false) Long before,
+            @Parameter(description = "Number of items per page (max 100)") @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        Long userId = currentUserId(user);
+        log.info("Received request to get wishlist for user {}", userId);
+        return ResponseEntity.ok(wishlistService.getWishlist(userId, before, size));
+    }
+
+    @GetMapping("/wishlist/most-wanted")
+    @Operation(summary = "Most wanted books", description = "Books on the most wishlists, served from in-memory counters that are reconciled with the database every few minutes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Most wanted books retrieved successfully",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content)
+    })
+    public ResponseEntity<List<MostWantedBookResponse>> getMostWanted(
+            @Parameter(description = "Number of books to return (max 100)") @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+        log.info("Received request to get {} most wanted books", limit);
+        return ResponseEntity.ok(wishlistService.getMostWanted(limit));
+    }
+
     @GetMapping("/health")
     @Operation(summary = "Health check", description = "Check if the book service is running")
     @ApiResponses(value = {
@@ -181,4 +294,11 @@ public class BookController {
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("Book Service is running");
     }
+
+    private Long currentUserId(AuthenticatedUser user) {
+        if (user == null || user.userId() == null) {
+            throw new JwtAuthenticationException("Token does not identify a user, please log in again");
+        }
+        return user.userId();
+    }
 }
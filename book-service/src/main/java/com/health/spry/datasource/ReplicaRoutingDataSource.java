@@ -0,0 +1,177 @@
+package com.health.spry.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out connections for read-only transactions, spread round robin over the
+ * read replicas.
+ *
+ * Every replica is checked every lag-check-interval-ms. One that is further behind
+ * than max-lag-seconds, has replication stopped or cannot be reached gets no reads
+ * until a later check passes; when no replica is usable the read goes to the primary.
+ * Replicas start out unusable, so reads stay on the primary until the first check.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter fallbackCounter;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools,
+                                    long maxLagSeconds, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.maxLagSeconds = maxLagSeconds;
+        this.fallbackCounter = Counter.builder("lms.book.datasource.replica.fallbacks")
+                .description("Read-only connections taken from the primary because no replica was usable")
+                .register(meterRegistry);
+        for (Replica replica : replicas) {
+            Gauge.builder("lms.book.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag in seconds at the last check, NaN when unknown")
+                    .tag("pool", replica.dataSource.getPoolName())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Runs work with reads on the primary, for callers that cannot tolerate replication
+     * lag, such as rebuilds of in-memory indexes that are kept current by write events.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            } else {
+                PRIMARY_ONLY.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!Boolean.TRUE.equals(PRIMARY_ONLY.get())) {
+            int start = next.getAndIncrement();
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+                if (!replica.usable) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    replica.usable = false;
+                    log.warn("Replica {} unavailable, taking it out of rotation: {}",
+                            replica.dataSource.getPoolName(), e.getMessage());
+                }
+            }
+            fallbackCounter.increment();
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connections use the configured credentials");
+    }
+
+    @Scheduled(fixedDelayString = "${book.datasource.read-replicas.lag-check-interval-ms:2000}")
+    public void checkLag() {
+        replicas.forEach(this::check);
+    }
+
+    private void check(Replica replica) {
+        Long lag;
+        try {
+            lag = replicationLag(replica.dataSource);
+        } catch (SQLException e) {
+            log.debug("Lag check of replica {} failed", replica.dataSource.getPoolName(), e);
+            lag = null;
+        }
+        boolean usable = lag != null && lag <= maxLagSeconds;
+        if (usable != replica.usable) {
+            if (usable) {
+                log.info("Replica {} back in rotation ({}s behind)", replica.dataSource.getPoolName(), lag);
+            } else {
+                log.warn("Replica {} out of rotation (lag: {})", replica.dataSource.getPoolName(),
+                        lag != null ? lag + "s" : "unknown");
+            }
+        }
+        replica.lagSeconds = lag != null ? lag : Double.NaN;
+        replica.usable = usable;
+    }
+
+    /**
+     * Seconds behind the source as reported by the replica itself.
+     *
+     * @return null when replication is not running or the server is not a replica
+     */
+    private static Long replicationLag(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+            try {
+                return secondsBehind(statement, "SHOW REPLICA STATUS", "Seconds_Behind_Source");
+            } catch (SQLSyntaxErrorException e) {
+                // MySQL before 8.0.22
+                return secondsBehind(statement, "SHOW SLAVE STATUS", "Seconds_Behind_Master");
+            }
+        }
+    }
+
+    private static Long secondsBehind(Statement statement, String query, String lagColumn) throws SQLException {
+        try (ResultSet status = statement.executeQuery(query)) {
+            if (!status.next()) {
+                return null;
+            }
+            long lag = status.getLong(lagColumn);
+            return status.wasNull() ? null : lag;
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean usable;
+        private volatile double lagSeconds = Double.NaN;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.health.spry.dto;
+
+import java.util.Map;
+
+import com.health.spry.model.AvailabilityStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacetedSearchResponse {
+    private PagedResponse<BookResponse> results;
+    // Matching books per value, highest count first
+    private Map<String, Integer> authors;
+    private Map<Integer, Integer> publishedYears;
+    private Map<AvailabilityStatus, Integer> availabilityStatuses;
+}
@@ -0,0 +1,20 @@
+package com.health.spry.dto;
+
+import com.health.spry.model.AvailabilityStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MostWantedBookResponse {
+    private Long bookId;
+    private String title;
+    private String author;
+    private AvailabilityStatus availabilityStatus;
+    private long wishlistCount;
+}
@@ -0,0 +1,23 @@
+package com.health.spry.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionResponse {
+
+    public enum Type {
+        TITLE,
+        AUTHOR
+    }
+
+    private String text;
+    private Type type;
+    // Set for TITLE suggestions only
+    private Long bookId;
+}
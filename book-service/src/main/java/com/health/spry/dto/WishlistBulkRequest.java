@@ -0,0 +1,25 @@
+package com.health.spry.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties("userId") // The user always comes from the JWT
+public class WishlistBulkRequest {
+
+    @NotEmpty(message = "At least one book ID is required")
+    @Size(max = 500, message = "At most 500 book IDs can be sent in one request")
+    private List<@NotNull(message = "Book ID is required") Long> bookIds;
+}
@@ -0,0 +1,20 @@
+package com.health.spry.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WishlistBulkResponse {
+    private Long userId;
+    private int requested;
+    private int changed;
+    private int unchanged;
+    private List<Long> notFoundBookIds;
+}
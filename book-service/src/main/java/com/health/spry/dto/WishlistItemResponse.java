@@ -1,4 +1,4 @@
-package com.health.spry.exception;
+package com.health.spry.dto;
 
 import java.time.LocalDateTime;
 
@@ -11,9 +11,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class ErrorResponse {
-    private LocalDateTime timestamp;
-    private int status;
-    private String error;
-    private String message;
+public class WishlistItemResponse {
+    private Long id;
+    private Long bookId;
+    private LocalDateTime createdAt;
 }
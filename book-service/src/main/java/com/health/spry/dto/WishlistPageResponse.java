@@ -0,0 +1,19 @@
+package com.health.spry.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WishlistPageResponse {
+    private List<WishlistItemResponse> content;
+    private int pageSize;
+    // Pass as 'before' to get the next page; null on the last page
+    private Long nextCursor;
+}
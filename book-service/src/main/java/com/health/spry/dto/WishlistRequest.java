@@ -1,5 +1,7 @@
 package com.health.spry.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,12 +12,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonIgnoreProperties("userId") // The user always comes from the JWT; older clients still send it in the body
 public class WishlistRequest {
 
-    //@NotNull(message = "User ID is required") 
-	// Intentionally removed the condition as we only want to wishlist against the validated user not any user 
-    private Long userId;
-
     @NotNull(message = "Book ID is required")
     private Long bookId;
 }
@@ -0,0 +1,28 @@
+package com.health.spry.index;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory index updates until the surrounding transaction has committed,
+ * so a rolled back write never shows up in an index.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /** Runs the action after commit, or right away when no transaction is active. */
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
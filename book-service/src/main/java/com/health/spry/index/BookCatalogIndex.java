@@ -0,0 +1,355 @@
+package com.health.spry.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.health.spry.datasource.ReplicaRoutingDataSource;
+import com.health.spry.model.AvailabilityStatus;
+import com.health.spry.model.Book;
+import com.health.spry.repository.BookCatalogRow;
+import com.health.spry.repository.BookRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory filter index over all books that are not deleted.
+ *
+ * Book ids are used directly as bit positions: one bitmap per availability
+ * status and per published year, intersected to answer a filter. Authors are
+ * dictionary encoded, so an author filter is matched once per distinct author
+ * and then checked per book with an int lookup. The index follows book writes
+ * after they commit and is rebuilt from the database every reconcile interval
+ * to pick up writes made by other instances.
+ *
+ * Callers fall back to the database whenever {@link #isReady()} is false.
+ */
+@Component
+@Slf4j
+public class BookCatalogIndex {
+
+    /** A page of matching book ids in ascending id order, plus the total number of matches. */
+    public record IdPage(List<Long> ids, long totalElements) {
+    }
+
+    /** Number of matching books per facet value, highest count first. */
+    public record Facets(Map<String, Integer> authors, Map<Integer, Integer> publishedYears,
+                         Map<AvailabilityStatus, Integer> availabilityStatuses) {
+    }
+
+    public record FacetedIdPage(IdPage page, Facets facets) {
+    }
+
+    private record Entry(long id, String author, int publishedYear, AvailabilityStatus status) {
+    }
+
+    private final BookRepository bookRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Columns columns;
+    /** Writes seen while a rebuild is loading; replayed onto the rebuilt columns. Null when no rebuild runs. */
+    private Map<Long, Optional<Entry>> writesDuringReload;
+
+    public BookCatalogIndex(BookRepository bookRepository, MeterRegistry meterRegistry) {
+        this.bookRepository = bookRepository;
+        Gauge.builder("lms.book.catalog.index.books", this, BookCatalogIndex::size)
+                .description("Books held by the in-memory catalog index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuilds the index from the database; runs once at startup and then every reconcile interval.
+     */
+    @Scheduled(fixedDelayString = "${book.catalog-index.reconcile-interval-ms:600000}")
+    public void reload() {
+        Map<Long, Optional<Entry>> pending = new HashMap<>();
+        lock.writeLock().lock();
+        try {
+            writesDuringReload = pending;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Columns fresh = new Columns();
+        try {
+            for (BookCatalogRow row : ReplicaRoutingDataSource.onPrimary(bookRepository::findCatalogRows)) {
+                fresh.put(new Entry(row.getId(), row.getAuthor(), row.getPublishedYear(), row.getAvailabilityStatus()));
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not load the book catalog index, keeping the previous one", e);
+            fresh = null;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (fresh != null) {
+                for (Map.Entry<Long, Optional<Entry>> write : pending.entrySet()) {
+                    fresh.remove(write.getKey());
+                    write.getValue().ifPresent(fresh::put);
+                }
+                columns = fresh.usable() ? fresh : null;
+                log.info("Book catalog index loaded with {} books", fresh.live.cardinality());
+            }
+            writesDuringReload = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return columns != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Adds or updates a book once the current transaction commits; deleted books are removed. */
+    public void index(Book book) {
+        Long id = book.getId();
+        Optional<Entry> entry = Boolean.TRUE.equals(book.getDeleted())
+                ? Optional.empty()
+                : Optional.of(new Entry(id, book.getAuthor(), book.getPublishedYear(), book.getAvailabilityStatus()));
+        AfterCommit.run(() -> apply(id, entry));
+    }
+
+    /**
+     * Ids of the books matching all given filters (null means no filter), ascending, one page at a time.
+     * The author filter is a case-insensitive substring match, like the database query.
+     *
+     * @return empty when the index is not loaded
+     */
+    public Optional<IdPage> findIds(String author, Integer publishedYear, AvailabilityStatus status, int page, int size) {
+        lock.readLock().lock();
+        try {
+            if (columns == null) {
+                return Optional.empty();
+            }
+            BitSet matches = columns.matching(author, publishedYear, status);
+            return Optional.of(new IdPage(columns.page(matches, page, size, null), matches.cardinality()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same as {@link #findIds} plus facet counts over all matching books. The page and the
+     * counts come from one pass over the matches, counting into int arrays indexed by
+     * author ordinal, year offset and status ordinal.
+     *
+     * @param facetLimit most values returned per facet (all statuses are always returned)
+     * @return empty when the index is not loaded
+     */
+    public Optional<FacetedIdPage> findIdsWithFacets(String author, Integer publishedYear, AvailabilityStatus status,
+                                                     int page, int size, int facetLimit) {
+        lock.readLock().lock();
+        try {
+            if (columns == null) {
+                return Optional.empty();
+            }
+            BitSet matches = columns.matching(author, publishedYear, status);
+            FacetCounters counters = columns.newCounters();
+            List<Long> ids = columns.page(matches, page, size, counters);
+            return Optional.of(new FacetedIdPage(new IdPage(ids, matches.cardinality()), counters.toFacets(facetLimit)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns != null ? columns.live.cardinality() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Long id, Optional<Entry> entry) {
+        lock.writeLock().lock();
+        try {
+            if (writesDuringReload != null) {
+                writesDuringReload.put(id, entry);
+            }
+            if (columns != null) {
+                columns.remove(id);
+                entry.ifPresent(columns::put);
+                if (!columns.usable()) {
+                    log.warn("Book id {} does not fit the catalog index, falling back to the database", id);
+                    columns = null;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Column store keyed by book id. Not thread safe; guarded by the index lock.
+     */
+    private static final class Columns {
+
+        private static final BitSet NONE = new BitSet();
+
+        private final BitSet live = new BitSet();
+        private final Map<AvailabilityStatus, BitSet> byStatus = new EnumMap<>(AvailabilityStatus.class);
+        private final Map<Integer, BitSet> byYear = new HashMap<>();
+
+        private final List<String> authorKeys = new ArrayList<>();
+        private final List<String> authorNames = new ArrayList<>();
+        private final Map<String, Integer> authorOrdinals = new HashMap<>();
+        private int[] authorOrdinal = new int[1024];
+        private int[] publishedYear = new int[1024];
+        private AvailabilityStatus[] status = new AvailabilityStatus[1024];
+        private int minYear = Integer.MAX_VALUE;
+        private int maxYear = Integer.MIN_VALUE;
+        private boolean overflow;
+
+        Columns() {
+            for (AvailabilityStatus value : AvailabilityStatus.values()) {
+                byStatus.put(value, new BitSet());
+            }
+        }
+
+        boolean usable() {
+            return !overflow;
+        }
+
+        void put(Entry entry) {
+            if (entry.id() < 0 || entry.id() >= Integer.MAX_VALUE) {
+                overflow = true;
+                return;
+            }
+            int id = (int) entry.id();
+            ensureCapacity(id);
+            String key = entry.author().toLowerCase(Locale.ROOT);
+            authorOrdinal[id] = authorOrdinals.computeIfAbsent(key, k -> {
+                authorKeys.add(k);
+                authorNames.add(entry.author());
+                return authorKeys.size() - 1;
+            });
+            publishedYear[id] = entry.publishedYear();
+            minYear = Math.min(minYear, entry.publishedYear());
+            maxYear = Math.max(maxYear, entry.publishedYear());
+            status[id] = entry.status();
+            live.set(id);
+            byStatus.get(entry.status()).set(id);
+            byYear.computeIfAbsent(entry.publishedYear(), year -> new BitSet()).set(id);
+        }
+
+        void remove(Long bookId) {
+            if (bookId < 0 || bookId >= Integer.MAX_VALUE || !live.get(bookId.intValue())) {
+                return;
+            }
+            int id = bookId.intValue();
+            live.clear(id);
+            byStatus.get(status[id]).clear(id);
+            BitSet year = byYear.get(publishedYear[id]);
+            year.clear(id);
+            if (year.isEmpty()) {
+                byYear.remove(publishedYear[id]);
+            }
+            status[id] = null;
+        }
+
+        BitSet matching(String author, Integer year, AvailabilityStatus wantedStatus) {
+            BitSet result = (BitSet) (wantedStatus != null ? byStatus.get(wantedStatus) : live).clone();
+            if (year != null) {
+                result.and(byYear.getOrDefault(year, NONE));
+            }
+            if (author != null && !author.isEmpty() && !result.isEmpty()) {
+                String needle = author.toLowerCase(Locale.ROOT);
+                BitSet authors = new BitSet(authorKeys.size());
+                for (int ordinal = 0; ordinal < authorKeys.size(); ordinal++) {
+                    if (authorKeys.get(ordinal).contains(needle)) {
+                        authors.set(ordinal);
+                    }
+                }
+                for (int id = result.nextSetBit(0); id >= 0; id = result.nextSetBit(id + 1)) {
+                    if (!authors.get(authorOrdinal[id])) {
+                        result.clear(id);
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Ids of one page of the matches, counting every match into counters when given.
+         */
+        List<Long> page(BitSet matches, int page, int size, FacetCounters counters) {
+            long skip = (long) page * size;
+            List<Long> ids = new ArrayList<>(size);
+            for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+                if (skip > 0) {
+                    skip--;
+                } else if (ids.size() < size) {
+                    ids.add((long) id);
+                } else if (counters == null) {
+                    break;
+                }
+                if (counters != null) {
+                    counters.authors[authorOrdinal[id]]++;
+                    counters.years[publishedYear[id] - minYear]++;
+                    counters.statuses[status[id].ordinal()]++;
+                }
+            }
+            return ids;
+        }
+
+        FacetCounters newCounters() {
+            int years = maxYear >= minYear ? maxYear - minYear + 1 : 0;
+            return new FacetCounters(this, new int[authorKeys.size()], new int[years], new int[AvailabilityStatus.values().length]);
+        }
+
+        private void ensureCapacity(int id) {
+            if (id < authorOrdinal.length) {
+                return;
+            }
+            int length = Math.max(id + 1, (int) Math.min(Integer.MAX_VALUE - 8L, authorOrdinal.length * 2L));
+            authorOrdinal = Arrays.copyOf(authorOrdinal, length);
+            publishedYear = Arrays.copyOf(publishedYear, length);
+            status = Arrays.copyOf(status, length);
+        }
+    }
+
+    private record FacetCounters(Columns columns, int[] authors, int[] years, int[] statuses) {
+
+        Facets toFacets(int limit) {
+            Map<String, Integer> authorFacet = new LinkedHashMap<>();
+            topOrdinals(authors, limit).forEach(ordinal -> authorFacet.put(columns.authorNames.get(ordinal), authors[ordinal]));
+            Map<Integer, Integer> yearFacet = new LinkedHashMap<>();
+            topOrdinals(years, limit).forEach(offset -> yearFacet.put(columns.minYear + offset, years[offset]));
+            Map<AvailabilityStatus, Integer> statusFacet = new LinkedHashMap<>();
+            topOrdinals(statuses, statuses.length).forEach(ordinal -> statusFacet.put(AvailabilityStatus.values()[ordinal], statuses[ordinal]));
+            return new Facets(authorFacet, yearFacet, statusFacet);
+        }
+
+        /** Indexes of the non-zero counts, highest count first, lower index first on ties. */
+        private static List<Integer> topOrdinals(int[] counts, int limit) {
+            List<Integer> ordinals = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    ordinals.add(i);
+                }
+            }
+            ordinals.sort((a, b) -> counts[a] != counts[b] ? Integer.compare(counts[b], counts[a]) : Integer.compare(a, b));
+            return ordinals.subList(0, Math.min(limit, ordinals.size()));
+        }
+    }
+}
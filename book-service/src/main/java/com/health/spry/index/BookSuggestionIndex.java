@@ -0,0 +1,390 @@
+package com.health.spry.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.health.spry.datasource.ReplicaRoutingDataSource;
+import com.health.spry.dto.SuggestionResponse;
+import com.health.spry.model.Book;
+import com.health.spry.repository.BookCatalogRow;
+import com.health.spry.repository.BookRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Autocomplete over book titles and authors, answered from memory only.
+ *
+ * Every word of a normalized title or author name is put into a trie. Each
+ * trie node keeps the best suggestions below it, ranked by wishlist count, so a
+ * prefix lookup is a walk of the query length. Nodes keep twice max-per-node
+ * of them, leaving room for books deleted since the last build. Fuzzy
+ * lookups also follow every path within edit distance 1 of the query.
+ * The node where a word ends also lists every suggestion containing that
+ * word, so multi-word queries intersect those lists instead of filtering a
+ * truncated top list.
+ *
+ * The trie is immutable and swapped as a whole. Book writes mark it stale,
+ * and it is rebuilt at most every refresh-interval-ms; deleted books are
+ * hidden right away until the next rebuild.
+ */
+@Component
+@Slf4j
+public class BookSuggestionIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    /** Shorter fuzzy queries match too much to be useful. */
+    private static final int MIN_FUZZY_LENGTH = 3;
+
+    private final BookRepository bookRepository;
+    private final WishlistPopularityIndex popularityIndex;
+    private final int maxPerNode;
+    private final long rebuildIntervalMs;
+
+    private volatile Trie trie;
+    private volatile boolean stale = true;
+    /** Deleted book id to the time it was deleted. */
+    private final Map<Long, Long> hidden = new ConcurrentHashMap<>();
+
+    public BookSuggestionIndex(BookRepository bookRepository,
+                               WishlistPopularityIndex popularityIndex,
+                               @Value("${book.suggest.max-per-node:10}") int maxPerNode,
+                               @Value("${book.suggest.rebuild-interval-ms:300000}") long rebuildIntervalMs) {
+        this.bookRepository = bookRepository;
+        this.popularityIndex = popularityIndex;
+        this.maxPerNode = maxPerNode;
+        this.rebuildIntervalMs = rebuildIntervalMs;
+    }
+
+    /** Marks the trie stale once the current transaction commits and hides deleted books right away. */
+    public void bookChanged(Book book) {
+        Long id = book.getId();
+        boolean deleted = Boolean.TRUE.equals(book.getDeleted());
+        AfterCommit.run(() -> {
+            if (deleted) {
+                hidden.put(id, System.currentTimeMillis());
+            }
+            stale = true;
+        });
+    }
+
+    /**
+     * Rebuilds the trie when books changed since the last build, and in any case every
+     * rebuild-interval-ms so that popularity changes are picked up.
+     */
+    @Scheduled(fixedDelayString = "${book.suggest.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (stale || trie == null || System.currentTimeMillis() - trie.builtAt() > rebuildIntervalMs) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        stale = false;
+        List<BookCatalogRow> rows;
+        try {
+            rows = ReplicaRoutingDataSource.onPrimary(bookRepository::findCatalogRows);
+        } catch (RuntimeException e) {
+            stale = true;
+            log.error("Could not load books for the suggestion index, keeping the previous one", e);
+            return;
+        }
+        trie = build(rows, popularityIndex.counts(), started);
+        hidden.values().removeIf(deletedAt -> deletedAt < started);
+        log.info("Suggestion index rebuilt with {} suggestions in {} ms",
+                trie.suggestions().length, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Up to limit suggestions for the query, best first. All words but the last must
+     * match a word of the suggestion exactly; the last one is matched as a prefix.
+     *
+     * @return an empty list until the index has been built
+     */
+    public List<SuggestionResponse> suggest(String query, int limit, boolean fuzzy) {
+        Trie current = trie;
+        String[] words = terms(query);
+        if (current == null || words.length == 0) {
+            return List.of();
+        }
+        String last = words[words.length - 1];
+        boolean fuzzyLast = fuzzy && last.length() >= MIN_FUZZY_LENGTH;
+        List<Integer> ranked = words.length == 1
+                ? byPrefix(current, last, fuzzyLast)
+                : byAllWords(current, Arrays.copyOf(words, words.length - 1), last, fuzzyLast);
+
+        List<SuggestionResponse> result = new ArrayList<>(limit);
+        for (int index : ranked) {
+            Suggestion suggestion = current.suggestions()[index];
+            if (result.size() == limit) {
+                break;
+            }
+            if (suggestion.bookId() != null && hidden.containsKey(suggestion.bookId())) {
+                continue;
+            }
+            result.add(SuggestionResponse.builder()
+                    .text(suggestion.text())
+                    .type(suggestion.type())
+                    .bookId(suggestion.bookId())
+                    .build());
+        }
+        return result;
+    }
+
+    /** The top suggestions below the prefix node, then those below nodes within one edit. */
+    private static List<Integer> byPrefix(Trie trie, String prefix, boolean fuzzy) {
+        Set<Integer> ranked = new LinkedHashSet<>();
+        Node exact = trie.root().find(prefix);
+        if (exact != null) {
+            exact.top().forEach(ranked::add);
+        }
+        if (fuzzy) {
+            Set<Node> nodes = new LinkedHashSet<>();
+            collectWithinOneEdit(trie.root(), prefix, 0, false, nodes);
+            nodes.stream()
+                    .flatMap(node -> node.top().stream())
+                    .filter(index -> !ranked.contains(index))
+                    .sorted()
+                    .forEach(ranked::add);
+        }
+        return new ArrayList<>(ranked);
+    }
+
+    /**
+     * Every suggestion containing all required words, best first: those with a word
+     * starting with the last query word, then those matching it within one edit.
+     */
+    private static List<Integer> byAllWords(Trie trie, String[] required, String last, boolean fuzzy) {
+        int[][] lists = new int[required.length][];
+        for (int i = 0; i < required.length; i++) {
+            Node node = trie.root().find(required[i]);
+            if (node == null || node.postings.length == 0) {
+                return List.of();
+            }
+            lists[i] = node.postings;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+
+        List<Integer> prefixMatches = new ArrayList<>();
+        List<Integer> fuzzyMatches = new ArrayList<>();
+        candidates:
+        for (int index : lists[0]) {
+            for (int i = 1; i < lists.length; i++) {
+                if (Arrays.binarySearch(lists[i], index) < 0) {
+                    continue candidates;
+                }
+            }
+            String[] terms = trie.suggestions()[index].terms();
+            if (Arrays.stream(terms).anyMatch(term -> term.startsWith(last))) {
+                prefixMatches.add(index);
+            } else if (fuzzy && Arrays.stream(terms).anyMatch(term -> startsWithinOneEdit(term, last))) {
+                fuzzyMatches.add(index);
+            }
+        }
+        prefixMatches.addAll(fuzzyMatches);
+        return prefixMatches;
+    }
+
+    /** Whether some prefix of term is within one edit (as in collectWithinOneEdit) of query. */
+    private static boolean startsWithinOneEdit(String term, String query) {
+        for (int length = query.length() - 1; length <= query.length() + 1; length++) {
+            if (length <= term.length() && withinOneEdit(term.substring(0, length), query)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean withinOneEdit(String a, String b) {
+        if (Math.abs(a.length() - b.length()) > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (a.length() == b.length()) {
+            if (i == a.length() || a.substring(i + 1).equals(b.substring(i + 1))) {
+                return true;
+            }
+            // Transposition of two neighbours
+            return i + 1 < a.length() && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                    && a.substring(i + 2).equals(b.substring(i + 2));
+        }
+        String longer = a.length() > b.length() ? a : b;
+        String shorter = longer == a ? b : a;
+        return longer.substring(i + 1).equals(shorter.substring(i));
+    }
+
+    private Trie build(List<BookCatalogRow> rows, Map<Long, Long> popularity, long builtAt) {
+        List<Suggestion> suggestions = new ArrayList<>(rows.size());
+        Map<String, Suggestion> authors = new HashMap<>();
+        for (BookCatalogRow row : rows) {
+            long score = popularity.getOrDefault(row.getId(), 0L);
+            suggestions.add(new Suggestion(row.getTitle(), SuggestionResponse.Type.TITLE, row.getId(), score, terms(row.getTitle())));
+            String[] authorTerms = terms(row.getAuthor());
+            authors.merge(String.join(" ", authorTerms),
+                    new Suggestion(row.getAuthor(), SuggestionResponse.Type.AUTHOR, null, score, authorTerms),
+                    (a, b) -> new Suggestion(a.text(), a.type(), null, a.score() + b.score(), a.terms()));
+        }
+        suggestions.addAll(authors.values());
+        suggestions.sort(Comparator.comparingLong(Suggestion::score).reversed()
+                .thenComparingInt(suggestion -> suggestion.text().length())
+                .thenComparing(Suggestion::text));
+
+        // Inserted best first, so every node keeps the first suggestions that reach it
+        // and postings come out sorted by rank
+        Node root = new Node();
+        for (int index = 0; index < suggestions.size(); index++) {
+            for (String term : new LinkedHashSet<>(Arrays.asList(suggestions.get(index).terms()))) {
+                root.insert(term, index, 2 * maxPerNode);
+            }
+        }
+        root.trimPostings();
+        return new Trie(root, suggestions.toArray(new Suggestion[0]), builtAt);
+    }
+
+    /**
+     * Collects the nodes whose path is within one insertion, deletion, substitution or
+     * transposition of query[from..].
+     */
+    private static void collectWithinOneEdit(Node node, String query, int from, boolean edited, Set<Node> out) {
+        if (from == query.length()) {
+            out.add(node);
+            return;
+        }
+        char c = query.charAt(from);
+        Node next = node.child(c);
+        if (next != null) {
+            collectWithinOneEdit(next, query, from + 1, edited, out);
+        }
+        if (edited) {
+            return;
+        }
+        collectWithinOneEdit(node, query, from + 1, true, out);
+        for (int i = 0; i < node.size; i++) {
+            if (node.keys[i] != c) {
+                collectWithinOneEdit(node.children[i], query, from + 1, true, out);
+            }
+            collectWithinOneEdit(node.children[i], query, from, true, out);
+        }
+        if (from + 1 < query.length()) {
+            Node swapped = node.child(query.charAt(from + 1));
+            Node then = swapped != null ? swapped.child(c) : null;
+            if (then != null) {
+                collectWithinOneEdit(then, query, from + 2, true, out);
+            }
+        }
+    }
+
+    /**
+     * Lower case words in any script, compatibility-decomposed with combining marks
+     * removed, and anything but letters and digits as separator.
+     */
+    static String[] terms(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        String plain = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("");
+        String normalized = SEPARATORS.matcher(plain.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    private record Suggestion(String text, SuggestionResponse.Type type, Long bookId, long score, String[] terms) {
+    }
+
+    private record Trie(Node root, Suggestion[] suggestions, long builtAt) {
+    }
+
+    /**
+     * Trie node with children in parallel sorted arrays, which keeps small nodes small.
+     */
+    private static final class Node {
+
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int size;
+        private int[] top = new int[0];
+        /** Every suggestion with a word ending at this node, in rank order. */
+        private int[] postings = new int[0];
+        private int postingCount;
+
+        Node child(char key) {
+            int i = Arrays.binarySearch(keys, 0, size, key);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node find(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            return node;
+        }
+
+        List<Integer> top() {
+            return Arrays.stream(top).boxed().toList();
+        }
+
+        void insert(String term, int suggestion, int maxPerNode) {
+            Node node = this;
+            for (int i = 0; i < term.length(); i++) {
+                node = node.childOrCreate(term.charAt(i));
+                node.offer(suggestion, maxPerNode);
+            }
+            if (node.postingCount == node.postings.length) {
+                node.postings = Arrays.copyOf(node.postings, Math.max(2, node.postingCount * 2));
+            }
+            node.postings[node.postingCount++] = suggestion;
+        }
+
+        /** Trims the postings of this node and all below it to their size, once the trie is built. */
+        void trimPostings() {
+            postings = Arrays.copyOf(postings, postingCount);
+            for (int i = 0; i < size; i++) {
+                children[i].trimPostings();
+            }
+        }
+
+        private void offer(int suggestion, int maxPerNode) {
+            if (top.length < maxPerNode && (top.length == 0 || top[top.length - 1] != suggestion)) {
+                top = Arrays.copyOf(top, top.length + 1);
+                top[top.length - 1] = suggestion;
+            }
+        }
+
+        private Node childOrCreate(char key) {
+            int i = Arrays.binarySearch(keys, 0, size, key);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            if (size == keys.length) {
+                int capacity = Math.max(2, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, at, keys, at + 1, size - at);
+            System.arraycopy(children, at, children, at + 1, size - at);
+            keys[at] = key;
+            children[at] = new Node();
+            size++;
+            return children[at];
+        }
+    }
+}
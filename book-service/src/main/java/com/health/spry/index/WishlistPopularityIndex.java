@@ -0,0 +1,159 @@
+package com.health.spry.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.health.spry.datasource.ReplicaRoutingDataSource;
+import com.health.spry.repository.BookWishlistCount;
+import com.health.spry.repository.WishlistRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory wishlist count per book, kept ordered by count so the most wanted
+ * books can be read without aggregating the wishlists table.
+ *
+ * Counts are adjusted after each wishlist change commits. Other instances
+ * change the same table, so the whole index is periodically rebuilt from one
+ * GROUP BY query (reconcile-interval-ms).
+ */
+@Component
+@Slf4j
+public class WishlistPopularityIndex {
+
+    /** Highest count first, lower book id first on ties. */
+    private static final Comparator<Ranked> RANKING = Comparator.comparingLong(Ranked::count).reversed()
+            .thenComparing(Ranked::bookId);
+
+    private record Ranked(Long bookId, long count) {
+    }
+
+    /** A count change; removal drops the book whatever its count. */
+    private record Change(Long bookId, long delta, boolean removal) {
+    }
+
+    private final WishlistRepository wishlistRepository;
+
+    private final Map<Long, Long> counts = new HashMap<>();
+    private final TreeSet<Ranked> ranking = new TreeSet<>(RANKING);
+    /** Changes seen while a reconcile is loading; replayed onto the reloaded counts. Null when none runs. */
+    private List<Change> changesDuringReload;
+
+    public WishlistPopularityIndex(WishlistRepository wishlistRepository, MeterRegistry meterRegistry) {
+        this.wishlistRepository = wishlistRepository;
+        Gauge.builder("lms.book.wishlist.popularity.books", this, WishlistPopularityIndex::size)
+                .description("Books with at least one wishlist entry in the popularity index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuilds the index from the database; runs once at startup and then every reconcile interval.
+     */
+    @Scheduled(fixedDelayString = "${wishlist.popularity.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        synchronized (this) {
+            changesDuringReload = new ArrayList<>();
+        }
+        List<BookWishlistCount> rows;
+        try {
+            // Counts are kept current by write events, so a lagging replica would undo recent ones
+            rows = ReplicaRoutingDataSource.onPrimary(wishlistRepository::countActiveByBook);
+        } catch (RuntimeException e) {
+            log.error("Could not reconcile the wishlist popularity index, keeping the current counts", e);
+            synchronized (this) {
+                changesDuringReload = null;
+            }
+            return;
+        }
+        synchronized (this) {
+            counts.clear();
+            ranking.clear();
+            rows.forEach(row -> set(row.getBookId(), row.getWishlistCount()));
+            // A change committed just before the query may be counted twice; the next reconcile corrects it
+            changesDuringReload.forEach(this::apply);
+            changesDuringReload = null;
+        }
+        log.info("Wishlist popularity index reconciled with {} books", rows.size());
+    }
+
+    /** Counts the books as wished for once more when the current transaction commits. */
+    public void recordAdded(Collection<Long> bookIds) {
+        afterCommit(bookIds, 1);
+    }
+
+    /** Counts the books as wished for once less when the current transaction commits. */
+    public void recordRemoved(Collection<Long> bookIds) {
+        afterCommit(bookIds, -1);
+    }
+
+    /** Drops a book from the ranking when the current transaction commits, e.g. when it is deleted. */
+    public void removeBook(Long bookId) {
+        AfterCommit.run(() -> record(List.of(new Change(bookId, 0, true))));
+    }
+
+    /**
+     * Up to limit (bookId, count) pairs, most wanted first.
+     */
+    public synchronized Map<Long, Long> top(int limit) {
+        Map<Long, Long> top = new LinkedHashMap<>();
+        for (Ranked ranked : ranking) {
+            if (top.size() == limit) {
+                break;
+            }
+            top.put(ranked.bookId(), ranked.count());
+        }
+        return top;
+    }
+
+    /** Copy of all non-zero counts by book id. */
+    public synchronized Map<Long, Long> counts() {
+        return new HashMap<>(counts);
+    }
+
+    public synchronized int size() {
+        return counts.size();
+    }
+
+    private void afterCommit(Collection<Long> bookIds, long delta) {
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        List<Change> changes = bookIds.stream().map(bookId -> new Change(bookId, delta, false)).toList();
+        AfterCommit.run(() -> record(changes));
+    }
+
+    private synchronized void record(List<Change> changes) {
+        if (changesDuringReload != null) {
+            changesDuringReload.addAll(changes);
+        }
+        changes.forEach(this::apply);
+    }
+
+    /** Caller holds the monitor. */
+    private void apply(Change change) {
+        Long bookId = change.bookId();
+        set(bookId, change.removal() ? 0 : counts.getOrDefault(bookId, 0L) + change.delta());
+    }
+
+    /** Caller holds the monitor. */
+    private void set(Long bookId, long count) {
+        Long previous = count > 0 ? counts.put(bookId, count) : counts.remove(bookId);
+        if (previous != null) {
+            ranking.remove(new Ranked(bookId, previous));
+        }
+        if (count > 0) {
+            ranking.add(new Ranked(bookId, count));
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.health.spry.kafka;
 
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 
 import org.apache.kafka.common.KafkaException;
@@ -10,33 +12,93 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
-import lombok.RequiredArgsConstructor;
+import com.health.spry.common.event.BookNotificationEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Publishes notification events with a bounded number of unacknowledged sends.
+ *
+ * Once max-in-flight sends are outstanding, callers wait for a permit (up to
+ * max-in-flight-wait-ms) instead of piling more records into the producer
+ * buffer, so a large wishlist fan-out slows down rather than exhausting memory.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class BookNotificationProducer {
 
     private final KafkaTemplate<String, BookNotificationEvent> kafkaTemplate;
+    private final String topic;
+    private final Semaphore inFlightPermits;
+    private final long permitWaitMs;
+    private final Timer successTimer;
+    private final Timer failureTimer;
 
-    @Value("${kafka.topic.book-notification}")
-    private String topic;
+    public BookNotificationProducer(KafkaTemplate<String, BookNotificationEvent> kafkaTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${kafka.topic.book-notification}") String topic,
+                                    @Value("${kafka.producer.max-in-flight:1000}") int maxInFlight,
+                                    @Value("${kafka.producer.max-in-flight-wait-ms:5000}") long permitWaitMs) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.inFlightPermits = new Semaphore(maxInFlight);
+        this.permitWaitMs = permitWaitMs;
+        this.successTimer = sendTimer(meterRegistry, "success");
+        this.failureTimer = sendTimer(meterRegistry, "failure");
+        Gauge.builder("lms.kafka.producer.in-flight", inFlightPermits, permits -> maxInFlight - permits.availablePermits())
+                .description("Notification sends awaiting broker acknowledgement")
+                .tag("topic", topic)
+                .register(meterRegistry);
+    }
 
     public void sendNotification(BookNotificationEvent event) {
-        log.info("Sending notification event to Kafka topic {}: {}", topic, event);
-        
-        CompletableFuture<SendResult<String, BookNotificationEvent>> future = 
-            kafkaTemplate.send(topic, event.getBookId().toString(), event);
-        
+        acquirePermit(event);
+        log.debug("Sending notification event to Kafka topic {}: {}", topic, event);
+
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<String, BookNotificationEvent>> future;
+        try {
+            future = kafkaTemplate.send(topic, event.getBookId().toString(), event);
+        } catch (RuntimeException e) {
+            inFlightPermits.release();
+            failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+
         future.whenComplete((result, ex) -> {
+            inFlightPermits.release();
             if (ex == null) {
-                log.info("Successfully sent notification event: {} with offset: {} to partition: {}", 
-                    event, result.getRecordMetadata().offset(),result.getRecordMetadata().partition());
+                successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                log.debug("Sent notification event for user {} to partition {} at offset {}",
+                    event.getUserId(), result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
             } else {
+                failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
                 log.error("Failed to send notification event: {}", event, ex);
-                throw new KafkaException(ex.getMessage());
             }
         });
     }
+
+    private void acquirePermit(BookNotificationEvent event) {
+        try {
+            if (!inFlightPermits.tryAcquire(permitWaitMs, TimeUnit.MILLISECONDS)) {
+                throw new KafkaException("Too many notification sends in flight; could not publish event for book "
+                        + event.getBookId() + " within " + permitWaitMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while waiting to publish notification event", e);
+        }
+    }
+
+    private Timer sendTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("lms.kafka.producer.send.latency")
+                .description("Time from send() to broker acknowledgement for notification events")
+                .tag("topic", topic)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 }
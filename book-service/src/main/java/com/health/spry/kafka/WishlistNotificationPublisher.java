@@ -0,0 +1,99 @@
+package com.health.spry.kafka;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.health.spry.common.event.BookNotificationEvent;
+import com.health.spry.model.Wishlist;
+import com.health.spry.repository.WishlistRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Notifies every user who has a book on their wishlist that it became available.
+ *
+ * The fan-out starts only after the book update has committed and runs on its own
+ * threads, so a slow broker (the producer waits for in-flight permits) never holds
+ * the request's database connection or row locks, and a failed send cannot roll
+ * back an update whose earlier events are already on the topic. Best effort: an
+ * event that cannot be published is logged and dropped.
+ */
+@Component
+@Slf4j
+public class WishlistNotificationPublisher {
+
+    private final WishlistRepository wishlistRepository;
+    private final BookNotificationProducer notificationProducer;
+    private final ThreadPoolExecutor executor;
+
+    public WishlistNotificationPublisher(WishlistRepository wishlistRepository,
+                                         BookNotificationProducer notificationProducer,
+                                         @Value("${kafka.producer.fan-out.threads:2}") int threads,
+                                         @Value("${kafka.producer.fan-out.queue-capacity:1000}") int queueCapacity) {
+        this.wishlistRepository = wishlistRepository;
+        this.notificationProducer = notificationProducer;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "wishlist-notification-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> log.error("Wishlist notification queue full, dropping a book availability fan-out"));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /** Queues the fan-out for the book once the current transaction has committed. */
+    public void bookAvailable(Long bookId, String title) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            executor.execute(() -> notifyWishlists(bookId, title));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executor.execute(() -> notifyWishlists(bookId, title));
+            }
+        });
+    }
+
+    private void notifyWishlists(Long bookId, String title) {
+        List<Wishlist> wishlists = wishlistRepository.findByBookId(bookId);
+        log.info("Found {} users with book {} on wishlist", wishlists.size(), bookId);
+
+        int failed = 0;
+        for (Wishlist wishlist : wishlists) {
+            BookNotificationEvent event = BookNotificationEvent.builder()
+                    .bookId(bookId)
+                    .bookTitle(title)
+                    .userId(wishlist.getUserId())
+                    .eventType("BOOK_AVAILABLE")
+                    .message("Book '" + title + "' is now available")
+                    .build();
+            try {
+                notificationProducer.sendNotification(event);
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("Could not publish availability of book {} to user {}: {}", bookId, wishlist.getUserId(), e.getMessage());
+            }
+        }
+        if (failed > 0) {
+            log.error("{} of {} availability notifications for book {} were not published", failed, wishlists.size(), bookId);
+        }
+    }
+}
@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "wishlists",indexes = { // These indexes optimises the query
-		  @Index(name = "idx_wishlists_book_id", columnList = "book_id")
+		  @Index(name = "idx_wishlists_book_id", columnList = "book_id"),
+		  @Index(name = "idx_wishlists_user_id", columnList = "user_id,id,book_id,created_at") // Covers the per-user listing
 }, uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "book_id"})  
 })
@@ -0,0 +1,14 @@
+package com.health.spry.repository;
+
+import com.health.spry.model.AvailabilityStatus;
+
+/**
+ * Projection of the book columns held by the in-memory catalog and suggestion indexes.
+ */
+public interface BookCatalogRow {
+    Long getId();
+    String getTitle();
+    String getAuthor();
+    Integer getPublishedYear();
+    AvailabilityStatus getAvailabilityStatus();
+}
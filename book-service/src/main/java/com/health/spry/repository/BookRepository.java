@@ -1,26 +1,37 @@
 package com.health.spry.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.health.spry.dto.BookResponse;
 import com.health.spry.model.Book;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
-	Optional<Book> findByIdAndDeletedFalse(Long id);
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>, BookRepositoryCustom {
+
+	String BOOK_RESPONSE_SELECT = "SELECT new com.health.spry.dto.BookResponse(b.id, b.title, b.author, b.isbn, "
+			+ "b.publishedYear, b.availabilityStatus, b.createdAt, b.updatedAt) FROM Book b ";
 
-//@Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Book b WHERE b.isbn = :isbn AND b.deleted = false")
-//Boolean existsByIsbnAndNotDeleted(@Param("isbn") String isbn);
+	Optional<Book> findByIdAndDeletedFalse(Long id);
 
-	Boolean existsByIsbnAndDeletedFalse(String isbn);
+	// Read paths select straight into the response DTO; nothing ends up in the persistence context
+	@Query(BOOK_RESPONSE_SELECT + "WHERE b.id = :id AND b.deleted = false")
+	Optional<BookResponse> findResponseById(@Param("id") Long id);
 
-//@Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Book b WHERE b.isbn = :isbn AND b.id != :id AND b.deleted = false")
-//Boolean existsByIsbnAndIdNotAndNotDeleted(@Param("isbn") String isbn, @Param("id") Long id);}
+	@Query(BOOK_RESPONSE_SELECT + "WHERE b.id IN :ids AND b.deleted = false")
+	List<BookResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
 
-	Boolean existsByIsbnAndIdNotAndDeletedFalse(String isbn, Long id);
+	@Query("SELECT b.id FROM Book b WHERE b.id IN :ids AND b.deleted = false")
+	List<Long> findActiveIdsByIdIn(@Param("ids") Collection<Long> ids);
 
-	boolean existsByIsbn(String isbn);
+	@Query("SELECT b.id AS id, b.title AS title, b.author AS author, b.publishedYear AS publishedYear, "
+			+ "b.availabilityStatus AS availabilityStatus FROM Book b WHERE b.deleted = false")
+	List<BookCatalogRow> findCatalogRows();
 }
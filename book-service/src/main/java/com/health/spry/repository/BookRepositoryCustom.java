@@ -0,0 +1,21 @@
+package com.health.spry.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.health.spry.dto.BookResponse;
+import com.health.spry.model.Book;
+
+public interface BookRepositoryCustom {
+
+    /**
+     * Books matching the specification, selected straight into BookResponse so no entities are loaded.
+     */
+    Page<BookResponse> findResponses(Specification<Book> spec, Pageable pageable);
+
+    List<BookResponse> findResponses(Specification<Book> spec, Sort sort);
+}
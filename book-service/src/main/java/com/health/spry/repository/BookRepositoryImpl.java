@@ -0,0 +1,70 @@
+package com.health.spry.repository;
+
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.health.spry.dto.BookResponse;
+import com.health.spry.model.Book;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Criteria part of {@link BookRepository}, picked up by Spring Data through the Impl suffix.
+ */
+public class BookRepositoryImpl implements BookRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<BookResponse> findResponses(Specification<Book> spec, Pageable pageable) {
+        TypedQuery<BookResponse> query = responseQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        // The count query only runs when the page alone cannot tell the total
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<BookResponse> findResponses(Specification<Book> spec, Sort sort) {
+        return responseQuery(spec, sort).getResultList();
+    }
+
+    private TypedQuery<BookResponse> responseQuery(Specification<Book> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookResponse> query = cb.createQuery(BookResponse.class);
+        Root<Book> root = query.from(Book.class);
+        query.select(cb.construct(BookResponse.class,
+                root.get("id"), root.get("title"), root.get("author"), root.get("isbn"),
+                root.get("publishedYear"), root.get("availabilityStatus"),
+                root.get("createdAt"), root.get("updatedAt")));
+        query.where(spec.toPredicate(root, query, cb));
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query).setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+
+    private long count(Specification<Book> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Book> root = query.from(Book.class);
+        query.select(cb.count(root));
+        query.where(spec.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
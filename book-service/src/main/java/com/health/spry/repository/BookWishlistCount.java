@@ -0,0 +1,9 @@
+package com.health.spry.repository;
+
+/**
+ * Projection for the per-book wishlist aggregation.
+ */
+public interface BookWishlistCount {
+    Long getBookId();
+    long getWishlistCount();
+}
@@ -1,14 +1,30 @@
 package com.health.spry.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.health.spry.model.Wishlist;
 
 @Repository
-public interface WishlistRepository extends JpaRepository<Wishlist, Long> {
+public interface WishlistRepository extends JpaRepository<Wishlist, Long>, WishlistRepositoryCustom {
     List<Wishlist> findByBookId(Long bookId);
-    Boolean existsByUserIdAndBookId(Long userId, Long bookId);
+
+    // Keyset pages, newest first. Both are range scans on idx_wishlists_user_id
+    List<Wishlist> findByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+    List<Wishlist> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long before, Pageable pageable);
+
+    @Query("SELECT w.bookId AS bookId, COUNT(w) AS wishlistCount FROM Wishlist w, Book b "
+            + "WHERE b.id = w.bookId AND b.deleted = false GROUP BY w.bookId")
+    List<BookWishlistCount> countActiveByBook();
+
+    @Modifying
+    @Query("DELETE FROM Wishlist w WHERE w.userId = :userId AND w.bookId IN :bookIds")
+    int deleteByUserIdAndBookIdIn(@Param("userId") Long userId, @Param("bookIds") Collection<Long> bookIds);
 }
@@ -0,0 +1,23 @@
+package com.health.spry.repository;
+
+import java.util.List;
+
+public interface WishlistRepositoryCustom {
+
+    /**
+     * Inserts the (userId, bookId) pairs that are not wishlisted yet, a bounded chunk of
+     * books per statement. Each chunk is one SELECT of the pairs already present and one
+     * multi-row INSERT ... ON DUPLICATE KEY UPDATE for the rest.
+     *
+     * @return the book IDs that were not on the wishlist before
+     */
+    List<Long> insertMissing(Long userId, List<Long> bookIds);
+
+    /**
+     * Inserts one (userId, bookId) pair if the book exists and is not deleted, in a single
+     * INSERT ... SELECT. A pair that is already wishlisted fails on the unique constraint.
+     *
+     * @return 1 if inserted, 0 if there is no such book
+     */
+    int insertIfBookActive(Long userId, Long bookId);
+}
@@ -0,0 +1,82 @@
+package com.health.spry.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC part of {@link WishlistRepository}, picked up by Spring Data through the Impl suffix.
+ */
+@RequiredArgsConstructor
+public class WishlistRepositoryImpl implements WishlistRepositoryCustom {
+
+    // Caps the bind parameters of one statement at 300
+    static final int ROWS_PER_STATEMENT = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> insertMissing(Long userId, List<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return List.of();
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> inserted = new ArrayList<>();
+        for (int from = 0; from < bookIds.size(); from += ROWS_PER_STATEMENT) {
+            List<Long> chunk = bookIds.subList(from, Math.min(from + ROWS_PER_STATEMENT, bookIds.size()));
+            Set<Long> present = findPresent(userId, chunk);
+            List<Long> missing = chunk.stream().filter(bookId -> !present.contains(bookId)).toList();
+            if (!missing.isEmpty()) {
+                insert(userId, missing, now);
+                inserted.addAll(missing);
+            }
+        }
+        return inserted;
+    }
+
+    @Override
+    public int insertIfBookActive(Long userId, Long bookId) {
+        return jdbcTemplate.update(
+                "INSERT INTO wishlists (user_id, book_id, created_at) "
+                        + "SELECT ?, b.id, ? FROM books b WHERE b.id = ? AND b.deleted = false",
+                userId, Timestamp.valueOf(LocalDateTime.now()), bookId);
+    }
+
+    private Set<Long> findPresent(Long userId, List<Long> bookIds) {
+        String sql = "SELECT book_id FROM wishlists WHERE user_id = ? AND book_id IN ("
+                + placeholders("?", bookIds.size()) + ")";
+        List<Object> args = new ArrayList<>(bookIds.size() + 1);
+        args.add(userId);
+        args.addAll(bookIds);
+        return new HashSet<>(jdbcTemplate.queryForList(sql, Long.class, args.toArray()));
+    }
+
+    /**
+     * A pair added concurrently since {@link #findPresent} is left as it is by the no-op update.
+     * Any other failure (unknown book, NULL, truncation) still fails the statement.
+     */
+    private void insert(Long userId, List<Long> bookIds, Timestamp now) {
+        String sql = "INSERT INTO wishlists (user_id, book_id, created_at) VALUES "
+                + placeholders("(?, ?, ?)", bookIds.size())
+                + " ON DUPLICATE KEY UPDATE id = id";
+        List<Object> args = new ArrayList<>(bookIds.size() * 3);
+        for (Long bookId : bookIds) {
+            args.add(userId);
+            args.add(bookId);
+            args.add(now);
+        }
+        jdbcTemplate.update(sql, args.toArray());
+    }
+
+    private static String placeholders(String group, int count) {
+        return String.join(", ", Collections.nCopies(count, group));
+    }
+}
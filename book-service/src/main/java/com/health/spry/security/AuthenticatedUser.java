@@ -0,0 +1,15 @@
+package com.health.spry.security;
+
+import java.security.Principal;
+
+/**
+ * Principal put into the security context by {@link JwtAuthenticationFilter}.
+ * userId comes from the token's userId claim and is null for tokens issued without it.
+ */
+public record AuthenticatedUser(Long userId, String username) implements Principal {
+
+	@Override
+	public String getName() {
+		return username;
+	}
+}
@@ -12,6 +12,7 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.MalformedJwtException;
@@ -48,22 +49,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 			// Extract JWT token from Authorization header
 
 			jwt = authorizationHeader.substring(7);
-			username = jwtUtil.extractUsername(jwt);
+			// Single parse: signature and expiry are verified here, so no further validation pass is needed
+			Claims claims = jwtUtil.parseClaims(jwt);
+			username = claims.getSubject();
 			log.debug("Extracted username from JWT: {}", username);
 			
 			if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-				// Validate token and set authentication
-				if (jwtUtil.validateToken(jwt, username)) {
-					UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-							username, null, new ArrayList<>()); // Here since there is not Authorizatoin flow involved,
-																// hence Empty arraylist for Granted authorities
+				UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+						new AuthenticatedUser(claims.get("userId", Long.class), username), null, new ArrayList<>()); // Here since there is not Authorizatoin flow involved,
+															// hence Empty arraylist for Granted authorities
 
-					authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-					SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-					log.debug("Successfully authenticated user: {}", username);
-				}
+				authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
+				SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+				log.debug("Successfully authenticated user: {}", username);
 			}
 
 		} catch (ExpiredJwtException e) {
@@ -1,20 +1,13 @@
 package com.health.spry.security;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.Jws;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.security.Keys;
-import io.jsonwebtoken.security.SignatureException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import com.health.spry.common.security.JwtKeyRing;
+import com.health.spry.common.security.JwtTokenCodec;
+
 import java.util.Date;
 import java.util.function.Function;
 
@@ -22,14 +15,20 @@ import java.util.function.Function;
 @Slf4j
 public class JwtUtil {
 
-	@Value("${jwt.secret}")
-	private String secret;
+	private final JwtTokenCodec tokenCodec;
 
-	@Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
-	private Long expiration;
+	public JwtUtil(@Value("${jwt.secret}") String secret,
+			@Value("${jwt.key-id:primary}") String keyId,
+			@Value("${jwt.retired-keys:}") String retiredKeys) {
+		// Keys and parser are built once here instead of on every request
+		this.tokenCodec = new JwtTokenCodec(JwtKeyRing.fromProperties(keyId, secret, retiredKeys));
+	}
 
-	private Key getSigningKey() {
-		return Keys.hmacShaKeyFor(secret.getBytes());
+	/**
+	 * Verifies the token (signature and expiry) and returns all of its claims in one parse.
+	 */
+	public Claims parseClaims(String token) {
+		return tokenCodec.parse(token);
 	}
 
 	public String extractUsername(String token) {
@@ -41,36 +40,19 @@ public class JwtUtil {
 	}
 
 	public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-		final Claims claims = extractAllClaims(token);
-		return claimsResolver.apply(claims);
-	}
-
-	private Claims extractAllClaims(String token) {
-		Jws<Claims> jws = Jwts.parserBuilder()
-				// Set the signing key used to verify the token's signature
-				.setSigningKey(getSigningKey()).build()
-				// Parse the token
-				.parseClaimsJws(token);
-
-		// Return the claims object
-		return jws.getBody();
-	}
-
-	private Boolean isTokenExpired(String token) {
-		return extractExpiration(token).before(new Date());
+		return claimsResolver.apply(parseClaims(token));
 	}
 
 	public Boolean validateToken(String token, String username) {
 
-		final String extractedUsername = extractUsername(token);
-		return (extractedUsername.equals(username) && !isTokenExpired(token));
+		final Claims claims = parseClaims(token);
+		return (username.equals(claims.getSubject()) && claims.getExpiration().after(new Date()));
 
 	}
 
 	public Boolean validateToken(String token) {
 
-		extractAllClaims(token);
-		return !isTokenExpired(token);
+		return parseClaims(token).getExpiration().after(new Date());
 
 	}
 }
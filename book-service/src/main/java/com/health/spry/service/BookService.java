@@ -1,8 +1,16 @@
 package com.health.spry.service;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -13,16 +21,19 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.health.spry.dto.BookRequest;
 import com.health.spry.dto.BookResponse;
+import com.health.spry.dto.FacetedSearchResponse;
 import com.health.spry.dto.PagedResponse;
+import com.health.spry.dto.SuggestionResponse;
 import com.health.spry.exception.BookNotFoundException;
+import com.health.spry.exception.ConstraintViolations;
 import com.health.spry.exception.DuplicateIsbnException;
-import com.health.spry.kafka.BookNotificationEvent;
-import com.health.spry.kafka.BookNotificationProducer;
+import com.health.spry.index.BookCatalogIndex;
+import com.health.spry.index.BookSuggestionIndex;
+import com.health.spry.index.WishlistPopularityIndex;
+import com.health.spry.kafka.WishlistNotificationPublisher;
 import com.health.spry.model.AvailabilityStatus;
 import com.health.spry.model.Book;
-import com.health.spry.model.Wishlist;
 import com.health.spry.repository.BookRepository;
-import com.health.spry.repository.WishlistRepository;
 import com.health.spry.specification.BookSpecification;
 
 import lombok.RequiredArgsConstructor;
@@ -33,19 +44,18 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class BookService {
 
+    private static final String ID_SORT = "id";
+
     private final BookRepository bookRepository;
-    private final WishlistRepository wishlistRepository;
-    private final BookNotificationProducer notificationProducer;
+    private final WishlistNotificationPublisher wishlistNotificationPublisher;
+    private final WishlistPopularityIndex popularityIndex;
+    private final BookCatalogIndex catalogIndex;
+    private final BookSuggestionIndex suggestionIndex;
 
     @Transactional
     public BookResponse createBook(BookRequest request) {
         log.info("Creating book with ISBN: {}", request.getIsbn());
 
-        // Check for duplicate ISBN
-        if (bookRepository.existsByIsbn(request.getIsbn())) {
-            throw new DuplicateIsbnException("Book with ISBN '" + request.getIsbn() + "' already exists");
-        }
-
         Book book = Book.builder()
                 .title(request.getTitle())
                 .author(request.getAuthor())
@@ -55,28 +65,35 @@ public class BookService {
                 .deleted(false)
                 .build();
 
-        Book savedBook = bookRepository.save(book);
+        Book savedBook = saveUniqueIsbn(book);
+        catalogIndex.index(savedBook);
+        suggestionIndex.bookChanged(savedBook);
         log.info("Book created successfully with ID: {}", savedBook.getId());
 
         return mapToResponse(savedBook);
     }
 
     @Transactional(readOnly = true)
-    public PagedResponse<BookResponse> getAllBooks(String author, Integer publishedYear, 
+    public PagedResponse<BookResponse> getAllBooks(String author, Integer publishedYear, AvailabilityStatus availabilityStatus,
                                                      int page, int size, String sortBy) {
-        log.info("Fetching books - author: {}, year: {}, page: {}, size: {}", author, publishedYear, page, size);
+        log.info("Fetching books - author: {}, year: {}, status: {}, page: {}, size: {}",
+                author, publishedYear, availabilityStatus, page, size);
+
+        // Filters are answered from the in-memory index when the page is in id order; only the page itself is read
+        if (ID_SORT.equals(sortBy)) {
+            Optional<BookCatalogIndex.IdPage> ids = catalogIndex.findIds(author, publishedYear, availabilityStatus, page, size);
+            if (ids.isPresent()) {
+                return toPagedResponse(ids.get(), page, size);
+            }
+        }
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy).ascending());
-        Specification<Book> spec = BookSpecification.filterBooks(author, publishedYear, null);
+        Specification<Book> spec = BookSpecification.filterBooks(author, publishedYear, availabilityStatus, null);
 
-        Page<Book> bookPage = bookRepository.findAll(spec, pageable);
-
-        List<BookResponse> content = bookPage.getContent().stream()
-                .map(this::mapToResponse)
-                .toList();
+        Page<BookResponse> bookPage = bookRepository.findResponses(spec, pageable);
 
         return PagedResponse.<BookResponse>builder()
-                .content(content)
+                .content(bookPage.getContent())
                 .pageNumber(bookPage.getNumber())
                 .pageSize(bookPage.getSize())
                 .totalElements(bookPage.getTotalElements())
@@ -86,12 +103,46 @@ public class BookService {
                 .build();
     }
 
+    /**
+     * Books matching the filters, in id order, together with per author, year and status
+     * counts over all matches. Served from the in-memory catalog index; until that is
+     * loaded the counts are computed from the matching rows.
+     */
+    @Transactional(readOnly = true)
+    public FacetedSearchResponse facetedSearch(String author, Integer publishedYear, AvailabilityStatus availabilityStatus,
+                                               int page, int size, int facetLimit) {
+        log.info("Faceted search - author: {}, year: {}, status: {}, page: {}, size: {}",
+                author, publishedYear, availabilityStatus, page, size);
+
+        Optional<BookCatalogIndex.FacetedIdPage> indexed =
+                catalogIndex.findIdsWithFacets(author, publishedYear, availabilityStatus, page, size, facetLimit);
+        if (indexed.isPresent()) {
+            BookCatalogIndex.Facets facets = indexed.get().facets();
+            return FacetedSearchResponse.builder()
+                    .results(toPagedResponse(indexed.get().page(), page, size))
+                    .authors(facets.authors())
+                    .publishedYears(facets.publishedYears())
+                    .availabilityStatuses(facets.availabilityStatuses())
+                    .build();
+        }
+
+        log.warn("Catalog index not loaded yet, computing facets from the database");
+        List<BookResponse> books = bookRepository.findResponses(
+                BookSpecification.filterBooks(author, publishedYear, availabilityStatus, null), Sort.by(ID_SORT));
+        List<Long> pageIds = books.stream().skip((long) page * size).limit(size).map(BookResponse::getId).toList();
+        return FacetedSearchResponse.builder()
+                .results(toPagedResponse(new BookCatalogIndex.IdPage(pageIds, books.size()), page, size))
+                .authors(countFacet(books, BookResponse::getAuthor, facetLimit))
+                .publishedYears(countFacet(books, BookResponse::getPublishedYear, facetLimit))
+                .availabilityStatuses(countFacet(books, BookResponse::getAvailabilityStatus, Integer.MAX_VALUE))
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public BookResponse getBookById(Long id) {
         log.info("Fetching book with ID: {}", id);
-        Book book = bookRepository.findByIdAndDeletedFalse(id)
+        return bookRepository.findResponseById(id)
                 .orElseThrow(() -> new BookNotFoundException("Book not found with ID: " + id));
-        return mapToResponse(book);
     }
 
     @Transactional
@@ -101,12 +152,6 @@ public class BookService {
         Book book = bookRepository.findByIdAndDeletedFalse(id)
                 .orElseThrow(() -> new BookNotFoundException("Book not found with ID: " + id));
 
-        // Check for duplicate ISBN (excluding current book)
-        if (!book.getIsbn().equals(request.getIsbn()) && 
-            bookRepository.existsByIsbnAndIdNotAndDeletedFalse(request.getIsbn(), id)) {
-            throw new DuplicateIsbnException("Book with ISBN '" + request.getIsbn() + "' already exists");
-        }
-
         // Store previous status for notification check
         AvailabilityStatus previousStatus = book.getAvailabilityStatus();
 
@@ -117,14 +162,16 @@ public class BookService {
         book.setPublishedYear(request.getPublishedYear());
         book.setAvailabilityStatus(request.getAvailabilityStatus());
 
-        Book updatedBook = bookRepository.save(book);
+        Book updatedBook = saveUniqueIsbn(book);
+        catalogIndex.index(updatedBook);
+        suggestionIndex.bookChanged(updatedBook);
         log.info("Book updated successfully with ID: {}", updatedBook.getId());
 
         // Trigger async notification if status changed from BORROWED to AVAILABLE
         if (previousStatus == AvailabilityStatus.BORROWED && 
             request.getAvailabilityStatus() == AvailabilityStatus.AVAILABLE) {
-            log.info("Book status changed from BORROWED to AVAILABLE. Triggering notifications.");
-            sendWishlistNotifications(updatedBook);
+            log.info("Book status changed from BORROWED to AVAILABLE. Triggering notifications after commit.");
+            wishlistNotificationPublisher.bookAvailable(updatedBook.getId(), updatedBook.getTitle());
         }
 
         return mapToResponse(updatedBook);
@@ -141,6 +188,9 @@ public class BookService {
         book.setDeleted(true);
         book.setDeletedAt(LocalDateTime.now());
         bookRepository.save(book);
+        catalogIndex.index(book);
+        suggestionIndex.bookChanged(book);
+        popularityIndex.removeBook(id);
 
         log.info("Book soft deleted successfully with ID: {}", id);
     }
@@ -150,32 +200,62 @@ public class BookService {
         log.info("Searching books with query: {}", query);
 
         Specification<Book> spec = BookSpecification.filterBooks(null, null, query);
-        List<Book> books = bookRepository.findAll(spec);
-
-        return books.stream()
-                .map(this::mapToResponse)
-                .toList();
+        return bookRepository.findResponses(spec, Sort.unsorted());
     }
 
-    private void sendWishlistNotifications(Book book) {
-        // This runs asynchronously via Kafka
-        List<Wishlist> wishlists = wishlistRepository.findByBookId(book.getId());
-        
-        log.info("Found {} users with book {} on wishlist", wishlists.size(), book.getId());
-
-        for (Wishlist wishlist : wishlists) {
-            BookNotificationEvent event = BookNotificationEvent.builder()
-                    .bookId(book.getId())
-                    .bookTitle(book.getTitle())
-                    .userId(wishlist.getUserId())
-                    .eventType("BOOK_AVAILABLE")
-                    .message("Book '" + book.getTitle() + "' is now available")
-                    .build();
+    /**
+     * Autocomplete for titles and authors, served from memory only.
+     */
+    public List<SuggestionResponse> suggest(String query, int limit, boolean fuzzy) {
+        return suggestionIndex.suggest(query, limit, fuzzy);
+    }
 
-            notificationProducer.sendNotification(event);
+    /**
+     * Saves and flushes right away so a duplicate ISBN fails on the unique constraint here,
+     * instead of being checked with a separate query first.
+     */
+    private Book saveUniqueIsbn(Book book) {
+        try {
+            return bookRepository.saveAndFlush(book);
+        } catch (DataIntegrityViolationException e) {
+            if (!ConstraintViolations.isDuplicateKey(e)) {
+                throw e;
+            }
+            throw new DuplicateIsbnException("Book with ISBN '" + book.getIsbn() + "' already exists");
         }
     }
 
+    private PagedResponse<BookResponse> toPagedResponse(BookCatalogIndex.IdPage ids, int page, int size) {
+        Map<Long, BookResponse> books = bookRepository.findResponsesByIdIn(ids.ids()).stream()
+                .collect(Collectors.toMap(BookResponse::getId, Function.identity()));
+
+        // A book deleted after the index lookup is skipped instead of failing the page
+        List<BookResponse> content = ids.ids().stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        int totalPages = (int) Math.ceil((double) ids.totalElements() / size);
+        return PagedResponse.<BookResponse>builder()
+                .content(content)
+                .pageNumber(page)
+                .pageSize(size)
+                .totalElements(ids.totalElements())
+                .totalPages(totalPages)
+                .last(page >= totalPages - 1)
+                .first(page == 0)
+                .build();
+    }
+
+    private static <K> Map<K, Integer> countFacet(List<BookResponse> books, Function<BookResponse, K> facet, int limit) {
+        Map<K, Integer> counts = new HashMap<>();
+        books.forEach(book -> counts.merge(facet.apply(book), 1, Integer::sum));
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<K, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
     private BookResponse mapToResponse(Book book) {
         return BookResponse.builder()
                 .id(book.getId())
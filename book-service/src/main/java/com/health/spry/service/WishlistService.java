@@ -1,12 +1,31 @@
 package com.health.spry.service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.health.spry.dto.MostWantedBookResponse;
+import com.health.spry.dto.WishlistBulkRequest;
+import com.health.spry.dto.WishlistBulkResponse;
+import com.health.spry.dto.WishlistItemResponse;
+import com.health.spry.dto.WishlistPageResponse;
 import com.health.spry.dto.WishlistRequest;
 import com.health.spry.exception.BookNotFoundException;
+import com.health.spry.exception.ConstraintViolations;
 import com.health.spry.exception.DuplicateWishlistException;
+import com.health.spry.index.WishlistPopularityIndex;
+import com.health.spry.model.Book;
 import com.health.spry.model.Wishlist;
 import com.health.spry.repository.BookRepository;
 import com.health.spry.repository.WishlistRepository;
@@ -21,30 +40,141 @@ public class WishlistService {
 
     private final WishlistRepository wishlistRepository;
     private final BookRepository bookRepository;
+    private final WishlistPopularityIndex popularityIndex;
 
     @Transactional
-    public void addToWishlist(WishlistRequest request) throws DuplicateWishlistException {
-    	
-    	// Update logic to get user from user auth service 
-        log.info("Adding book {} to wishlist for user {}", request.getBookId(), request.getUserId());
-        
-
-        // Verify book exists and is not deleted
-        bookRepository.findByIdAndDeletedFalse(request.getBookId())
-                .orElseThrow(() -> new BookNotFoundException("Book not found with ID: " + request.getBookId()));
-
-        // Check if already in wishlist
-        if (wishlistRepository.existsByUserIdAndBookId(request.getUserId(), request.getBookId())) {
-            log.warn("Book {} already in wishlist for user {}", request.getBookId(), request.getUserId());
+    public void addToWishlist(Long userId, WishlistRequest request) throws DuplicateWishlistException {
+        log.info("Adding book {} to wishlist for user {}", request.getBookId(), userId);
+
+        // One statement: the book check is part of the insert and the unique key catches duplicates
+        int inserted;
+        try {
+            inserted = wishlistRepository.insertIfBookActive(userId, request.getBookId());
+        } catch (DataIntegrityViolationException e) {
+            if (!ConstraintViolations.isDuplicateKey(e)) {
+                throw e;
+            }
+            log.warn("Book {} already in wishlist for user {}", request.getBookId(), userId);
             throw new DuplicateWishlistException("Book already preesent in User's Wishlist");
         }
+        if (inserted == 0) {
+            throw new BookNotFoundException("Book not found with ID: " + request.getBookId());
+        }
+
+        popularityIndex.recordAdded(List.of(request.getBookId()));
+        log.info("Book added to wishlist successfully");
+    }
+
+    /**
+     * Adds many books at once: one IN query to find which books exist and a few
+     * multi-row inserts for the ones not on the wishlist yet. Books already on the
+     * wishlist are left as they are, unknown or deleted books are reported back
+     * instead of failing the request.
+     */
+    @Transactional
+    public WishlistBulkResponse addAllToWishlist(Long userId, WishlistBulkRequest request) {
+        Set<Long> bookIds = distinctBookIds(request);
+        log.info("Adding {} books to wishlist for user {}", bookIds.size(), userId);
 
-        Wishlist wishlist = Wishlist.builder()
-                .userId(request.getUserId())
-                .bookId(request.getBookId())
+        Set<Long> existing = new HashSet<>(bookRepository.findActiveIdsByIdIn(bookIds));
+        List<Long> notFound = bookIds.stream().filter(id -> !existing.contains(id)).toList();
+        bookIds.removeAll(notFound);
+
+        List<Long> inserted = wishlistRepository.insertMissing(userId, new ArrayList<>(bookIds));
+        popularityIndex.recordAdded(inserted);
+        int added = inserted.size();
+        log.info("Added {} books to wishlist for user {} ({} already present, {} not found)",
+                added, userId, bookIds.size() - added, notFound.size());
+
+        return WishlistBulkResponse.builder()
+                .userId(userId)
+                .requested(request.getBookIds().size())
+                .changed(added)
+                .unchanged(bookIds.size() - added)
+                .notFoundBookIds(notFound)
                 .build();
+    }
 
-        wishlistRepository.save(wishlist);
-        log.info("Book added to wishlist successfully");
+    /**
+     * Removes many books at once with a single DELETE. Books that are not on the wishlist count as unchanged.
+     */
+    @Transactional
+    public WishlistBulkResponse removeAllFromWishlist(Long userId, WishlistBulkRequest request) {
+        Set<Long> bookIds = distinctBookIds(request);
+        log.info("Removing {} books from wishlist for user {}", bookIds.size(), userId);
+
+        int removed = wishlistRepository.deleteByUserIdAndBookIdIn(userId, bookIds);
+        if (removed == bookIds.size()) {
+            popularityIndex.recordRemoved(bookIds);
+        } else if (removed > 0) {
+            // The row count does not say which books were present; the next reconcile picks them up
+            log.debug("Partial wishlist delete for user {}, leaving popularity counts to reconcile", userId);
+        }
+        log.info("Removed {} books from wishlist for user {}", removed, userId);
+
+        return WishlistBulkResponse.builder()
+                .userId(userId)
+                .requested(request.getBookIds().size())
+                .changed(removed)
+                .unchanged(bookIds.size() - removed)
+                .notFoundBookIds(List.of())
+                .build();
+    }
+
+    /**
+     * One page of a user's wishlist, newest first. Uses the last id of the previous
+     * page as cursor, so deep pages cost the same as the first one.
+     */
+    @Transactional(readOnly = true)
+    public WishlistPageResponse getWishlist(Long userId, Long before, int size) {
+        log.info("Fetching wishlist for user {} - before: {}, size: {}", userId, before, size);
+
+        Pageable pageable = PageRequest.of(0, size);
+        List<Wishlist> page = before != null
+                ? wishlistRepository.findByUserIdAndIdLessThanOrderByIdDesc(userId, before, pageable)
+                : wishlistRepository.findByUserIdOrderByIdDesc(userId, pageable);
+
+        List<WishlistItemResponse> content = page.stream()
+                .map(wishlist -> WishlistItemResponse.builder()
+                        .id(wishlist.getId())
+                        .bookId(wishlist.getBookId())
+                        .createdAt(wishlist.getCreatedAt())
+                        .build())
+                .toList();
+
+        return WishlistPageResponse.builder()
+                .content(content)
+                .pageSize(size)
+                .nextCursor(content.size() == size ? content.get(content.size() - 1).getId() : null)
+                .build();
+    }
+
+    /**
+     * The most wished-for books, served from the in-memory popularity index.
+     */
+    @Transactional(readOnly = true)
+    public List<MostWantedBookResponse> getMostWanted(int limit) {
+        Map<Long, Long> top = popularityIndex.top(limit);
+        Map<Long, Book> books = bookRepository.findAllById(top.keySet()).stream()
+                .filter(book -> !Boolean.TRUE.equals(book.getDeleted()))
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        return top.entrySet().stream()
+                .filter(entry -> books.containsKey(entry.getKey()))
+                .map(entry -> {
+                    Book book = books.get(entry.getKey());
+                    return MostWantedBookResponse.builder()
+                            .bookId(book.getId())
+                            .title(book.getTitle())
+                            .author(book.getAuthor())
+                            .availabilityStatus(book.getAvailabilityStatus())
+                            .wishlistCount(entry.getValue())
+                            .build();
+                })
+                .toList();
+    }
+
+    private Set<Long> distinctBookIds(WishlistBulkRequest request) {
+        return new LinkedHashSet<>(request.getBookIds());
     }
 }
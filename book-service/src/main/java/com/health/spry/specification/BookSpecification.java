@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.springframework.data.jpa.domain.Specification;
 
+import com.health.spry.model.AvailabilityStatus;
 import com.health.spry.model.Book;
 
 import jakarta.persistence.criteria.Predicate;
@@ -12,6 +13,11 @@ import jakarta.persistence.criteria.Predicate;
 public class BookSpecification {
 
     public static Specification<Book> filterBooks(String author, Integer publishedYear, String search) {
+        return filterBooks(author, publishedYear, null, search);
+    }
+
+    public static Specification<Book> filterBooks(String author, Integer publishedYear,
+                                                  AvailabilityStatus availabilityStatus, String search) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
 
@@ -32,6 +38,11 @@ public class BookSpecification {
                 predicates.add(criteriaBuilder.equal(root.get("publishedYear"), publishedYear));
             }
 
+            // Filter by availability status
+            if (availabilityStatus != null) {
+                predicates.add(criteriaBuilder.equal(root.get("availabilityStatus"), availabilityStatus));
+            }
+
             // Search by title or author (partial matching)
             if (search != null && !search.isEmpty()) {
                 String searchPattern = "%" + search.toLowerCase() + "%";
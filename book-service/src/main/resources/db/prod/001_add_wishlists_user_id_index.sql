@@ -0,0 +1,4 @@
+-- Covering index for the keyset-paginated wishlist listing (Wishlist entity).
+-- Run once against library_book_db before deploying book-service with the prod profile;
+-- schema validation does not check indexes, so a missing one only shows up as slow listings.
+CREATE INDEX idx_wishlists_user_id ON wishlists (user_id, id, book_id, created_at);
@@ -0,0 +1,124 @@
+package com.health.spry.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.health.spry.dto.SuggestionResponse;
+import com.health.spry.model.AvailabilityStatus;
+import com.health.spry.model.Book;
+import com.health.spry.repository.BookCatalogRow;
+import com.health.spry.repository.BookRepository;
+
+class BookSuggestionIndexTest {
+
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final WishlistPopularityIndex popularityIndex = mock(WishlistPopularityIndex.class);
+    private final BookSuggestionIndex index = new BookSuggestionIndex(bookRepository, popularityIndex, 10, 300_000);
+
+    private final List<BookCatalogRow> rows = new ArrayList<>();
+    private final Map<Long, Long> popularity = new HashMap<>();
+
+    @Test
+    void multiWordQueryFindsMatchesOutsideTheFirstWordsTopList() {
+        // 25 popular books fill every top list on the "harry" path
+        for (long id = 1; id <= 25; id++) {
+            book(id, "Harry Potter and the Volume " + id, "J. K. Rowling", 1_000 - id);
+        }
+        book(26, "Harry Potter and the Chamber of Secrets", "J. K. Rowling", 1);
+        book(27, "Harry Potter Chamber Music", "Someone Else", 0);
+        build();
+
+        assertThat(bookIds(index.suggest("harry potter chamber", 10, false))).containsExactly(26L, 27L);
+        assertThat(bookIds(index.suggest("harry potter cha", 10, false))).containsExactly(26L, 27L);
+        assertThat(bookIds(index.suggest("harry potter chmaber", 10, true))).containsExactly(26L, 27L);
+        assertThat(index.suggest("harry potter goblet", 10, false)).isEmpty();
+        assertThat(index.suggest("hermione potter chamber", 10, false)).isEmpty();
+    }
+
+    @Test
+    void multiWordQueryRanksPrefixMatchesBeforeFuzzyOnes() {
+        book(1, "Dune Messiah", "Frank Herbert", 50);
+        book(2, "Dune Mesiah Guide", "Frank Herbert", 100);
+        build();
+
+        assertThat(bookIds(index.suggest("dune messiah", 10, true))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void deletedBooksDoNotShortenTheResult() {
+        for (long id = 1; id <= 15; id++) {
+            book(id, "Dune Chronicles " + id, "Frank Herbert", 100 - id);
+        }
+        build();
+
+        for (long id = 1; id <= 3; id++) {
+            index.bookChanged(Book.builder().id(id).deleted(true).build());
+        }
+
+        List<Long> single = bookIds(index.suggest("dune", 10, false));
+        assertThat(single).hasSize(10).doesNotContain(1L, 2L, 3L);
+        assertThat(single.get(0)).isEqualTo(4L);
+
+        List<Long> multi = bookIds(index.suggest("dune chronicles", 10, false));
+        assertThat(multi).hasSize(10).doesNotContain(1L, 2L, 3L);
+    }
+
+    @Test
+    void suggestsTitlesInAnyScript() {
+        book(1, "हिन्दी कहानियाँ", "प्रेमचंद", 0);
+        book(2, "Éléments de géométrie", "Euclide", 0);
+        book(3, "東京物語", "小津安二郎", 0);
+        book(4, "Ｆｕｌｌ Ｗｉｄｔｈ Ｔｉｔｌｅ", "Ｗｒｉｔｅｒ", 0);
+        build();
+
+        assertThat(bookIds(index.suggest("हिन्दी", 10, false))).containsExactly(1L);
+        assertThat(bookIds(index.suggest("कहानि", 10, false))).containsExactly(1L);
+        assertThat(bookIds(index.suggest("ELEMENTS geome", 10, false))).containsExactly(2L);
+        assertThat(bookIds(index.suggest("東京", 10, false))).containsExactly(3L);
+        assertThat(bookIds(index.suggest("full width", 10, false))).containsExactly(4L);
+        assertThat(index.suggest("प्रेम", 10, false))
+                .extracting(SuggestionResponse::getType)
+                .containsExactly(SuggestionResponse.Type.AUTHOR);
+    }
+
+    @Test
+    void splitsOnAnythingButLettersAndDigits() {
+        assertThat(BookSuggestionIndex.terms("Don't Panic: 42 — Ölçü/Δέλτα"))
+                .containsExactly("don", "t", "panic", "42", "olcu", "δελτα");
+        assertThat(BookSuggestionIndex.terms(" -- ")).isEmpty();
+        assertThat(BookSuggestionIndex.terms(null)).isEmpty();
+    }
+
+    private void book(long id, String title, String author, long wishlistCount) {
+        BookCatalogRow row = mock(BookCatalogRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getTitle()).thenReturn(title);
+        when(row.getAuthor()).thenReturn(author);
+        when(row.getAvailabilityStatus()).thenReturn(AvailabilityStatus.AVAILABLE);
+        rows.add(row);
+        if (wishlistCount > 0) {
+            popularity.put(id, wishlistCount);
+        }
+    }
+
+    private void build() {
+        when(bookRepository.findCatalogRows()).thenReturn(rows);
+        when(popularityIndex.counts()).thenReturn(popularity);
+        index.refresh();
+    }
+
+    private static List<Long> bookIds(List<SuggestionResponse> suggestions) {
+        return suggestions.stream()
+                .filter(suggestion -> suggestion.getType() == SuggestionResponse.Type.TITLE)
+                .map(SuggestionResponse::getBookId)
+                .toList();
+    }
+}
@@ -1,10 +1,13 @@
-package com.health.spry.kafka;
+package com.health.spry.common.event;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Event published by book-service on book-notification-topic and consumed by notification-service.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,4 +1,4 @@
-package com.health.spry.exception;
+package com.health.spry.common.exception;
 
 import java.time.LocalDateTime;
 
@@ -17,6 +17,6 @@ import lombok.NoArgsConstructor;
 public class ErrorResponse {
     private LocalDateTime timestamp;
     private int status;
-    private String error; //Can be improved if we can add list of errors .
+    private String error;
     private String message;
 }
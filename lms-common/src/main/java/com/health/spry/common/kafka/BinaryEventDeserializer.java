@@ -0,0 +1,45 @@
+package com.health.spry.common.kafka;
+
+import java.io.IOException;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads payloads written by {@link BinaryEventSerializer} and, for mixed-version
+ * rollouts, plain JSON written by older producers.
+ */
+public class BinaryEventDeserializer<T> implements Deserializer<T> {
+
+    private final EventCodec<T> codec;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    public BinaryEventDeserializer(EventCodec<T> codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        if (data[0] != BinaryEventSerializer.MAGIC) {
+            return readJson(data);
+        }
+        BinaryEventReader reader = new BinaryEventReader(data, 1);
+        int version = reader.readByte();
+        return codec.read(version, reader);
+    }
+
+    private T readJson(byte[] data) {
+        try {
+            return objectMapper.readValue(data, codec.type());
+        } catch (IOException e) {
+            throw new SerializationException("Unable to deserialize " + codec.type().getSimpleName() + " from JSON", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.health.spry.common.kafka;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+/**
+ * Counterpart of {@link BinaryEventWriter}. Reads directly from the record's byte array without copying.
+ */
+public final class BinaryEventReader {
+
+    private final byte[] data;
+    private int position;
+
+    public BinaryEventReader(byte[] data, int offset) {
+        this.data = data;
+        this.position = offset;
+    }
+
+    public int readByte() {
+        ensureAvailable(1);
+        return data[position++] & 0xFF;
+    }
+
+    public int readVarInt() {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new SerializationException("Malformed varint in event payload");
+    }
+
+    public long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new SerializationException("Malformed varlong in event payload");
+    }
+
+    public Long readNullableLong() {
+        if (readByte() == 0) {
+            return null;
+        }
+        long zigZag = readVarLong();
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+    public String readNullableString() {
+        int length = readVarInt();
+        if (length == 0) {
+            return null;
+        }
+        int byteLength = length - 1;
+        ensureAvailable(byteLength);
+        String value = new String(data, position, byteLength, StandardCharsets.UTF_8);
+        position += byteLength;
+        return value;
+    }
+
+    public boolean hasRemaining() {
+        return position < data.length;
+    }
+
+    private void ensureAvailable(int bytes) {
+        if (bytes < 0 || bytes > data.length - position) {
+            throw new SerializationException("Truncated event payload");
+        }
+    }
+}
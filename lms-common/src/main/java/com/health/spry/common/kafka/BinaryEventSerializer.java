@@ -0,0 +1,63 @@
+package com.health.spry.common.kafka;
+
+import java.util.Map;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes events as {@code [MAGIC][schema version][fields...]}.
+ *
+ * Set {@value #FORMAT_CONFIG} to {@code json} while consumers that only understand
+ * JSON are still running; switch to {@code binary} once every consumer uses
+ * {@link BinaryEventDeserializer}, which reads both formats.
+ */
+public class BinaryEventSerializer<T> implements Serializer<T> {
+
+    public static final String FORMAT_CONFIG = "lms.event.format";
+    public static final String FORMAT_BINARY = "binary";
+    public static final String FORMAT_JSON = "json";
+
+    /**
+     * First byte of every binary payload. JSON payloads always start with '{' or whitespace.
+     */
+    public static final byte MAGIC = (byte) 0xCE;
+
+    private static final int INITIAL_BUFFER_SIZE = 128;
+
+    private final EventCodec<T> codec;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private boolean json;
+
+    public BinaryEventSerializer(EventCodec<T> codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object format = configs.get(FORMAT_CONFIG);
+        json = format != null && FORMAT_JSON.equalsIgnoreCase(format.toString().trim());
+    }
+
+    @Override
+    public byte[] serialize(String topic, T event) {
+        if (event == null) {
+            return null;
+        }
+        if (json) {
+            try {
+                return objectMapper.writeValueAsBytes(event);
+            } catch (JsonProcessingException e) {
+                throw new SerializationException("Unable to serialize " + codec.type().getSimpleName() + " as JSON", e);
+            }
+        }
+        BinaryEventWriter writer = new BinaryEventWriter(INITIAL_BUFFER_SIZE)
+                .writeByte(MAGIC)
+                .writeByte(codec.version());
+        codec.write(event, writer);
+        return writer.toByteArray();
+    }
+}
@@ -0,0 +1,69 @@
+package com.health.spry.common.kafka;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Append-only writer for the compact event format: unsigned LEB128 varints,
+ * zig-zag encoded longs and length-prefixed UTF-8 strings.
+ */
+public final class BinaryEventWriter {
+
+    private final ByteArrayOutputStream out;
+
+    public BinaryEventWriter(int initialCapacity) {
+        this.out = new ByteArrayOutputStream(initialCapacity);
+    }
+
+    public BinaryEventWriter writeByte(int value) {
+        out.write(value);
+        return this;
+    }
+
+    public BinaryEventWriter writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+        return this;
+    }
+
+    public BinaryEventWriter writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+        return this;
+    }
+
+    /**
+     * Null is written as a single 0 byte; otherwise 1 followed by the zig-zag varint.
+     */
+    public BinaryEventWriter writeNullableLong(Long value) {
+        if (value == null) {
+            out.write(0);
+            return this;
+        }
+        out.write(1);
+        return writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Length is written as (byteLength + 1) so that 0 can mean null.
+     */
+    public BinaryEventWriter writeNullableString(String value) {
+        if (value == null) {
+            return writeVarInt(0);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        out.write(bytes, 0, bytes.length);
+        return this;
+    }
+
+    public byte[] toByteArray() {
+        return out.toByteArray();
+    }
+}
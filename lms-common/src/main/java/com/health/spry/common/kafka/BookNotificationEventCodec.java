@@ -0,0 +1,43 @@
+package com.health.spry.common.kafka;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import com.health.spry.common.event.BookNotificationEvent;
+
+public class BookNotificationEventCodec implements EventCodec<BookNotificationEvent> {
+
+    public static final int VERSION = 1;
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public Class<BookNotificationEvent> type() {
+        return BookNotificationEvent.class;
+    }
+
+    @Override
+    public void write(BookNotificationEvent event, BinaryEventWriter writer) {
+        writer.writeNullableLong(event.getBookId())
+                .writeNullableLong(event.getUserId())
+                .writeNullableString(event.getEventType())
+                .writeNullableString(event.getBookTitle())
+                .writeNullableString(event.getMessage());
+    }
+
+    @Override
+    public BookNotificationEvent read(int version, BinaryEventReader reader) {
+        if (version < 1) {
+            throw new SerializationException("Unsupported BookNotificationEvent schema version " + version);
+        }
+        return BookNotificationEvent.builder()
+                .bookId(reader.readNullableLong())
+                .userId(reader.readNullableLong())
+                .eventType(reader.readNullableString())
+                .bookTitle(reader.readNullableString())
+                .message(reader.readNullableString())
+                .build();
+    }
+}
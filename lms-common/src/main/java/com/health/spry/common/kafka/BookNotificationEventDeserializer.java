@@ -0,0 +1,10 @@
+package com.health.spry.common.kafka;
+
+import com.health.spry.common.event.BookNotificationEvent;
+
+public class BookNotificationEventDeserializer extends BinaryEventDeserializer<BookNotificationEvent> {
+
+    public BookNotificationEventDeserializer() {
+        super(new BookNotificationEventCodec());
+    }
+}
@@ -0,0 +1,10 @@
+package com.health.spry.common.kafka;
+
+import com.health.spry.common.event.BookNotificationEvent;
+
+public class BookNotificationEventSerializer extends BinaryEventSerializer<BookNotificationEvent> {
+
+    public BookNotificationEventSerializer() {
+        super(new BookNotificationEventCodec());
+    }
+}
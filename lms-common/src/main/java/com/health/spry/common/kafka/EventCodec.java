@@ -0,0 +1,22 @@
+package com.health.spry.common.kafka;
+
+/**
+ * Binary schema of one event type.
+ *
+ * Schema evolution rule: fields are only ever appended. A reader that knows
+ * version N can decode any payload of version N or later by ignoring trailing
+ * bytes, and must default the fields added after the payload's version.
+ */
+public interface EventCodec<T> {
+
+    /**
+     * Schema version written into every payload produced by this codec.
+     */
+    int version();
+
+    Class<T> type();
+
+    void write(T event, BinaryEventWriter writer);
+
+    T read(int version, BinaryEventReader reader);
+}
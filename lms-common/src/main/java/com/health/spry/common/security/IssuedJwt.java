@@ -0,0 +1,9 @@
+package com.health.spry.common.security;
+
+import java.util.Date;
+
+/**
+ * A freshly signed token together with its expiry, so callers do not have to parse it back.
+ */
+public record IssuedJwt(String token, Date expiresAt) {
+}
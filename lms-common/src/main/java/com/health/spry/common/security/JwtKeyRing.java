@@ -0,0 +1,87 @@
+package com.health.spry.common.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Small, immutable set of HMAC keys indexed by key id ("kid" header).
+ *
+ * New tokens are always signed with the active key. Retired keys are only
+ * used to verify tokens issued before a rotation, so a secret can be rolled
+ * by first adding the new key everywhere and then switching the active id.
+ * Tokens without a kid header (issued before key ids existed) are verified
+ * with the active key.
+ */
+public final class JwtKeyRing extends SigningKeyResolverAdapter {
+
+    private final String activeKeyId;
+    private final SecretKey activeKey;
+    private final Map<String, SecretKey> keys;
+
+    public JwtKeyRing(String activeKeyId, String activeSecret, Map<String, String> retiredSecrets) {
+        if (activeKeyId == null || activeKeyId.isBlank()) {
+            throw new IllegalArgumentException("Active JWT key id must not be blank");
+        }
+        this.activeKeyId = activeKeyId;
+        this.activeKey = toKey(activeSecret);
+
+        Map<String, SecretKey> ring = new LinkedHashMap<>();
+        retiredSecrets.forEach((kid, secret) -> ring.put(kid, toKey(secret)));
+        ring.put(activeKeyId, activeKey);
+        this.keys = Collections.unmodifiableMap(ring);
+    }
+
+    /**
+     * Builds a key ring from the "kid:secret,kid:secret" form used in service configuration.
+     */
+    public static JwtKeyRing fromProperties(String activeKeyId, String activeSecret, String retiredKeys) {
+        Map<String, String> retired = new LinkedHashMap<>();
+        if (retiredKeys != null && !retiredKeys.isBlank()) {
+            for (String entry : retiredKeys.split(",")) {
+                String trimmed = entry.trim();
+                int separator = trimmed.indexOf(':');
+                if (separator <= 0 || separator == trimmed.length() - 1) {
+                    throw new IllegalArgumentException("Retired JWT keys must be in the form kid:secret");
+                }
+                retired.put(trimmed.substring(0, separator), trimmed.substring(separator + 1));
+            }
+        }
+        return new JwtKeyRing(activeKeyId, activeSecret, retired);
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public SecretKey getActiveKey() {
+        return activeKey;
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            return activeKey;
+        }
+        SecretKey key = keys.get(kid);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key id: " + kid);
+        }
+        return key;
+    }
+
+    private static SecretKey toKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
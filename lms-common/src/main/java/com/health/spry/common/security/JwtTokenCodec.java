@@ -0,0 +1,55 @@
+package com.health.spry.common.security;
+
+import java.util.Date;
+import java.util.Map;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * Signs and verifies HS256 tokens against a {@link JwtKeyRing}.
+ *
+ * The parser is built once and is thread-safe, so a request costs one
+ * signature check and one JSON parse; there is no per-call key derivation
+ * or parser construction.
+ */
+public final class JwtTokenCodec {
+
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
+
+    public JwtTokenCodec(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyRing)
+                .build();
+    }
+
+    public IssuedJwt issue(String subject, Map<String, Object> claims, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        Date expiresAt = new Date(now + ttlMillis);
+
+        String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.getActiveKeyId())
+                .setClaims(claims)
+                .setSubject(subject)
+                .setIssuedAt(new Date(now))
+                .setExpiration(expiresAt)
+                .signWith(keyRing.getActiveKey(), SignatureAlgorithm.HS256)
+                .compact();
+
+        return new IssuedJwt(token, expiresAt);
+    }
+
+    /**
+     * Verifies signature and expiry and returns every claim of the token.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, expired or not signed by a known key
+     */
+    public Claims parse(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+}
@@ -0,0 +1,182 @@
+package com.health.spry.common.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import com.health.spry.common.event.BookNotificationEvent;
+
+class BinaryEventSerializerTest {
+
+    private static final String TOPIC = "book-notification-topic";
+
+    private final BookNotificationEventSerializer serializer = new BookNotificationEventSerializer();
+    private final BookNotificationEventDeserializer deserializer = new BookNotificationEventDeserializer();
+
+    @Test
+    void roundTripsAllFields() {
+        BookNotificationEvent event = event(42L, 7L);
+
+        byte[] payload = serializer.serialize(TOPIC, event);
+
+        assertThat(payload[0]).isEqualTo(BinaryEventSerializer.MAGIC);
+        assertThat(payload[1]).isEqualTo((byte) BookNotificationEventCodec.VERSION);
+        assertThat(deserializer.deserialize(TOPIC, payload)).isEqualTo(event);
+    }
+
+    @Test
+    void roundTripsNullFields() {
+        BookNotificationEvent event = new BookNotificationEvent();
+
+        byte[] payload = serializer.serialize(TOPIC, event);
+
+        assertThat(deserializer.deserialize(TOPIC, payload)).isEqualTo(event);
+    }
+
+    @Test
+    void keepsEmptyStringsApartFromNull() {
+        BookNotificationEvent event = BookNotificationEvent.builder().bookId(1L).bookTitle("").message(null).build();
+
+        BookNotificationEvent read = deserializer.deserialize(TOPIC, serializer.serialize(TOPIC, event));
+
+        assertThat(read.getBookTitle()).isEmpty();
+        assertThat(read.getMessage()).isNull();
+    }
+
+    @Test
+    void roundTripsLargeAndNegativeIds() {
+        for (long id : new long[] { 0L, -1L, Integer.MAX_VALUE + 1L, Long.MAX_VALUE, Long.MIN_VALUE }) {
+            BookNotificationEvent event = event(id, -id);
+
+            assertThat(deserializer.deserialize(TOPIC, serializer.serialize(TOPIC, event))).isEqualTo(event);
+        }
+    }
+
+    @Test
+    void roundTripsMultiByteStrings() {
+        BookNotificationEvent event = event(1L, 2L);
+        event.setBookTitle("Der Zauberberg éè 书 📚");
+
+        assertThat(deserializer.deserialize(TOPIC, serializer.serialize(TOPIC, event))).isEqualTo(event);
+    }
+
+    @Test
+    void nullEventAndEmptyPayloadAreNull() {
+        assertThat(serializer.serialize(TOPIC, null)).isNull();
+        assertThat(deserializer.deserialize(TOPIC, null)).isNull();
+        assertThat(deserializer.deserialize(TOPIC, new byte[0])).isNull();
+    }
+
+    @Test
+    void readsNewerVersionIgnoringAppendedFields() {
+        BookNotificationEvent event = event(42L, 7L);
+        BinaryEventWriter writer = new BinaryEventWriter(64)
+                .writeByte(BinaryEventSerializer.MAGIC)
+                .writeByte(BookNotificationEventCodec.VERSION + 1);
+        new BookNotificationEventCodec().write(event, writer);
+        writer.writeNullableString("field added in a later version").writeNullableLong(99L);
+
+        assertThat(deserializer.deserialize(TOPIC, writer.toByteArray())).isEqualTo(event);
+    }
+
+    @Test
+    void rejectsUnknownOlderVersion() {
+        byte[] payload = serializer.serialize(TOPIC, event(42L, 7L));
+        payload[1] = 0;
+
+        assertThatThrownBy(() -> deserializer.deserialize(TOPIC, payload))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("version 0");
+    }
+
+    @Test
+    void readsJsonWrittenInJsonMode() {
+        BookNotificationEventSerializer jsonSerializer = new BookNotificationEventSerializer();
+        jsonSerializer.configure(Map.of(BinaryEventSerializer.FORMAT_CONFIG, " JSON "), false);
+        BookNotificationEvent event = event(Long.MAX_VALUE, 7L);
+
+        byte[] payload = jsonSerializer.serialize(TOPIC, event);
+
+        assertThat(payload[0]).isEqualTo((byte) '{');
+        assertThat(deserializer.deserialize(TOPIC, payload)).isEqualTo(event);
+    }
+
+    @Test
+    void readsJsonFromOlderProducersWithAbsentAndUnknownFields() {
+        byte[] payload = "  {\"bookId\":5,\"eventType\":\"BOOK_AVAILABLE\",\"addedLater\":true}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        BookNotificationEvent read = deserializer.deserialize(TOPIC, payload);
+
+        assertThat(read.getBookId()).isEqualTo(5L);
+        assertThat(read.getEventType()).isEqualTo("BOOK_AVAILABLE");
+        assertThat(read.getUserId()).isNull();
+        assertThat(read.getBookTitle()).isNull();
+    }
+
+    @Test
+    void rejectsMalformedJson() {
+        byte[] payload = "{\"bookId\":".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> deserializer.deserialize(TOPIC, payload))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void rejectsEveryTruncatedPayload() {
+        byte[] payload = serializer.serialize(TOPIC, event(Long.MAX_VALUE, 7L));
+
+        for (int length = 1; length < payload.length; length++) {
+            byte[] truncated = Arrays.copyOf(payload, length);
+
+            assertThatThrownBy(() -> deserializer.deserialize(TOPIC, truncated))
+                    .as("payload cut to %d of %d bytes", length, payload.length)
+                    .isInstanceOf(SerializationException.class)
+                    .hasMessageContaining("Truncated");
+        }
+    }
+
+    @Test
+    void rejectsStringLengthPastTheEnd() {
+        byte[] payload = new BinaryEventWriter(16)
+                .writeByte(BinaryEventSerializer.MAGIC)
+                .writeByte(BookNotificationEventCodec.VERSION)
+                .writeNullableLong(1L)
+                .writeNullableLong(null)
+                .writeVarInt(Integer.MAX_VALUE)
+                .toByteArray();
+
+        assertThatThrownBy(() -> deserializer.deserialize(TOPIC, payload))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    @Test
+    void rejectsOverlongVarLong() {
+        byte[] payload = new byte[14];
+        payload[0] = BinaryEventSerializer.MAGIC;
+        payload[1] = BookNotificationEventCodec.VERSION;
+        payload[2] = 1;
+        Arrays.fill(payload, 3, payload.length, (byte) 0xFF);
+
+        assertThatThrownBy(() -> deserializer.deserialize(TOPIC, payload))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("Malformed varlong");
+    }
+
+    private static BookNotificationEvent event(Long bookId, Long userId) {
+        return BookNotificationEvent.builder()
+                .bookId(bookId)
+                .userId(userId)
+                .eventType("BOOK_AVAILABLE")
+                .bookTitle("The Pragmatic Programmer")
+                .message("Book is now available")
+                .build();
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
 import com.health.spry.security.CustomUserDetailsService;
+import com.health.spry.security.InternalKeyAuthorizationManager;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,6 +22,7 @@ import lombok.RequiredArgsConstructor;
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
+    private final InternalKeyAuthorizationManager internalKeyAuthorizationManager;
 
     @Bean
     public BCryptPasswordEncoder passwordEncoder() {
@@ -48,6 +50,8 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             .authorizeHttpRequests(auth -> auth
+                // Called by other services only; the gateway refuses these paths as well
+                .requestMatchers("/internal/**").access(internalKeyAuthorizationManager)
                 .anyRequest().permitAll()
             )
             .authenticationProvider(authenticationProvider());
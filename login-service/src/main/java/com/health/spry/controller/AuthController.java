@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.health.spry.dto.LoginRequest;
 import com.health.spry.dto.LoginResponse;
+import com.health.spry.dto.RefreshTokenRequest;
 import com.health.spry.service.AuthenticationService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -46,6 +47,35 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh access token", description = "Exchange a refresh token for a new JWT and a rotated refresh token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Token refreshed, new JWT and refresh token returned",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = LoginResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Refresh token invalid, expired or revoked",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content)
+    })
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        log.info("Token refresh request received");
+        LoginResponse response = authenticationService.refreshToken(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "User logout", description = "Revoke a refresh token so it can no longer be used")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Refresh token revoked"),
+            @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content)
+    })
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        log.info("Logout request received");
+        authenticationService.logout(request);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/health")
     @Operation(summary = "Health check", description = "Check if the login service is running")
     @ApiResponses(value = {
@@ -0,0 +1,36 @@
+package com.health.spry.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.health.spry.security.UserRecordCache;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Called by signup-service on every login-service instance after it created or
+ * changed a user. Requests need the shared internal key (see
+ * {@link com.health.spry.security.InternalKeyAuthorizationManager}); the
+ * api-gateway also refuses /{service-id}/internal/** on its discovery routes.
+ */
+@RestController
+@RequestMapping("/internal/user-cache")
+@RequiredArgsConstructor
+@Slf4j
+@Hidden
+public class UserCacheController {
+
+    private final UserRecordCache userRecordCache;
+
+    @DeleteMapping("/{username}")
+    public ResponseEntity<Void> evict(@PathVariable String username) {
+        log.debug("Evicting cached user record for username: {}", username);
+        userRecordCache.evict(username);
+        return ResponseEntity.noContent().build();
+    }
+}
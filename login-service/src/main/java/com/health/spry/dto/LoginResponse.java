@@ -25,4 +25,11 @@ public class LoginResponse {
 	private String username;
 	private String email;
 	private String message;
+
+	@JsonProperty("refresh-token")
+	private String refreshToken;
+
+	@JsonProperty("refresh-token-expiry-date")
+	@JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MMM-dd HH:mm:ss z")
+	private Date refreshTokenExpiryDate;
 }
@@ -0,0 +1,23 @@
+package com.health.spry.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request object for renewing or revoking a refresh token")
+public class RefreshTokenRequest {
+
+    @NotBlank(message = "Refresh token is required")
+    @Schema(description = "Refresh token returned by login or a previous refresh", required = true)
+    @JsonProperty("refresh-token")
+    private String refreshToken;
+}
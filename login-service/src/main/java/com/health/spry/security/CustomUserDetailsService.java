@@ -1,14 +1,14 @@
 package com.health.spry.security;
 
-import java.util.ArrayList;
+import java.util.Optional;
 
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import com.health.spry.model.User;
 import com.health.spry.repository.UserRepository;
+import com.health.spry.security.UserRecordCache.CachedUser;
 
 import lombok.RequiredArgsConstructor;
 
@@ -17,20 +17,20 @@ import lombok.RequiredArgsConstructor;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserRecordCache userRecordCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        CachedUser user = userRecordCache.get(username, this::loadUser)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                user.getActive(),
-                true,
-                true,
-                true,
-                new ArrayList<>()
-        );
+        // A new instance per login: the authentication manager erases the password on it afterwards
+        return new LoginUserDetails(user);
+    }
+
+    private Optional<CachedUser> loadUser(String username) {
+        return userRepository.findByUsername(username)
+                .map(user -> new CachedUser(user.getId(), user.getUsername(), user.getEmail(),
+                        user.getPassword(), Boolean.TRUE.equals(user.getActive())));
     }
 }
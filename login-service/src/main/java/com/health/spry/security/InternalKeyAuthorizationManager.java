@@ -0,0 +1,37 @@
+package com.health.spry.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Grants the /internal/** endpoints to other services that send the shared
+ * internal key in the {@value #HEADER} header. With no key configured the
+ * internal endpoints are closed.
+ */
+@Component
+public class InternalKeyAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    public static final String HEADER = "X-Internal-Key";
+
+    private final byte[] internalKey;
+
+    public InternalKeyAuthorizationManager(@Value("${internal.api-key:}") String internalKey) {
+        this.internalKey = internalKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        String presented = context.getRequest().getHeader(HEADER);
+        return new AuthorizationDecision(internalKey.length > 0 && presented != null
+                && MessageDigest.isEqual(internalKey, presented.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -1,9 +1,5 @@
 package com.health.spry.security;
 
-import java.security.Key;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -12,45 +8,37 @@ import java.util.function.Function;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.health.spry.common.security.IssuedJwt;
+import com.health.spry.common.security.JwtKeyRing;
+import com.health.spry.common.security.JwtTokenCodec;
+
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 
 @Component
 @Slf4j
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private final JwtTokenCodec tokenCodec;
+    private final long expiration;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.key-id:primary}") String keyId,
+                   @Value("${jwt.retired-keys:}") String retiredKeys,
+                   @Value("${jwt.expiration}") Long expiration) {
+        // Keys and parser are built once here instead of on every token
+        this.tokenCodec = new JwtTokenCodec(JwtKeyRing.fromProperties(keyId, secret, retiredKeys));
+        this.expiration = expiration;
     }
 
-    public String generateToken(String username, Long userId) {
+    public IssuedJwt generateToken(String username, Long userId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
-        return createToken(claims, username);
+        return tokenCodec.issue(username, claims, expiration);
     }
 
-    private String createToken(Map<String, Object> claims, String subject) {
-    	
-    	
-        ZonedDateTime expirationZonedTime = ZonedDateTime.now(ZoneId.of("Asia/Kolkata")).plus(expiration, ChronoUnit.MILLIS);
-        
-        
-        return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(new Date())
-                .setExpiration(Date.from(expirationZonedTime.toInstant()))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+    public Claims parseClaims(String token) {
+        return tokenCodec.parse(token);
     }
 
     public String extractUsername(String token) {
@@ -58,8 +46,7 @@ public class JwtUtil {
     }
 
     public Long extractUserId(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.get("userId", Long.class);
+        return parseClaims(token).get("userId", Long.class);
     }
 
     public Date extractExpiration(String token) {
@@ -67,24 +54,12 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return claimsResolver.apply(parseClaims(token));
     }
 
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        // Expired tokens are rejected by the parser itself
+        final Claims claims = parseClaims(token);
+        return username.equals(claims.getSubject()) && claims.getExpiration().after(new Date());
     }
 }
@@ -0,0 +1,24 @@
+package com.health.spry.security;
+
+import java.util.List;
+
+import org.springframework.security.core.userdetails.User;
+
+import lombok.Getter;
+
+/**
+ * Spring Security user that also carries the id and email of the account, so a
+ * successful login can issue tokens without reading the user again.
+ */
+@Getter
+public class LoginUserDetails extends User {
+
+    private final Long id;
+    private final String email;
+
+    public LoginUserDetails(UserRecordCache.CachedUser user) {
+        super(user.username(), user.passwordHash(), user.active(), true, true, true, List.of());
+        this.id = user.id();
+        this.email = user.email();
+    }
+}
@@ -0,0 +1,156 @@
+package com.health.spry.security;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Short lived username to user record cache on the login path.
+ *
+ * Keys are spread over a fixed number of segments, each an LRU map behind its
+ * own lock, so concurrent logins only contend when they land in the same segment.
+ * Unknown usernames are cached as well. Entries expire after ttl-ms, and
+ * signup-service evicts a username as soon as it creates or changes that user.
+ * The database is read outside the segment lock; a load that overlaps an eviction
+ * in its segment is returned but not cached, so an eviction is never undone.
+ */
+@Component
+public class UserRecordCache {
+
+    /** What authentication needs from a users row. */
+    public record CachedUser(Long id, String username, String email, String passwordHash, boolean active) {
+    }
+
+    private final Segment[] segments;
+    private final long ttlNanos;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public UserRecordCache(MeterRegistry meterRegistry,
+                           @Value("${login.user-cache.max-size:10000}") int maxSize,
+                           @Value("${login.user-cache.segments:16}") int segmentCount,
+                           @Value("${login.user-cache.ttl-ms:30000}") long ttlMs) {
+        // Power of two, so the segment is picked with a mask
+        int count = segmentCount <= 1 ? 1 : Integer.highestOneBit(segmentCount - 1) << 1;
+        int perSegment = Math.max(1, maxSize / count);
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+
+        this.hitCounter = Counter.builder("lms.login.user-cache.requests")
+                .tag("result", "hit")
+                .description("User lookups answered from the cache")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("lms.login.user-cache.requests")
+                .tag("result", "miss")
+                .description("User lookups that went to the database")
+                .register(meterRegistry);
+        Gauge.builder("lms.login.user-cache.size", this, UserRecordCache::size)
+                .description("Usernames currently cached, including unknown ones")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached record for the username, loading it with loader when missing or expired.
+     */
+    public Optional<CachedUser> get(String username, Function<String, Optional<CachedUser>> loader) {
+        if (ttlNanos <= 0) {
+            return loader.apply(username);
+        }
+        String key = key(username);
+        Segment segment = segmentFor(key);
+        long evictionsBefore;
+        segment.lock.lock();
+        try {
+            Entry entry = segment.entries.get(key);
+            if (entry != null && entry.expiresAt() - System.nanoTime() > 0) {
+                hitCounter.increment();
+                return entry.user();
+            }
+            evictionsBefore = segment.evictions;
+        } finally {
+            segment.lock.unlock();
+        }
+
+        missCounter.increment();
+        Optional<CachedUser> loaded = loader.apply(username);
+        segment.lock.lock();
+        try {
+            if (segment.evictions == evictionsBefore) {
+                segment.entries.put(key, new Entry(loaded, System.nanoTime() + ttlNanos));
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+        return loaded;
+    }
+
+    public void evict(String username) {
+        String key = key(username);
+        Segment segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.entries.remove(key);
+            segment.evictions++;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public int size() {
+        return Arrays.stream(segments).mapToInt(Segment::size).sum();
+    }
+
+    /** Usernames compare case-insensitively in MySQL, so they do here too. */
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private Segment segmentFor(String key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    private record Entry(Optional<CachedUser> user, long expiresAt) {
+    }
+
+    private static final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Entry> entries;
+        /** Bumped on every eviction, so loads that started before it are not cached. */
+        private long evictions;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
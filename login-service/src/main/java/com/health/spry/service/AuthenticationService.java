@@ -1,17 +1,23 @@
 package com.health.spry.service;
 
+import java.time.ZoneId;
+import java.util.Date;
+
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.health.spry.common.security.IssuedJwt;
 import com.health.spry.dto.LoginRequest;
 import com.health.spry.dto.LoginResponse;
+import com.health.spry.dto.RefreshTokenRequest;
 import com.health.spry.model.User;
 import com.health.spry.repository.UserRepository;
 import com.health.spry.security.JwtUtil;
+import com.health.spry.security.LoginUserDetails;
+import com.health.spry.service.RefreshTokenService.IssuedRefreshToken;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +30,7 @@ public class AuthenticationService {
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
 
     public LoginResponse authenticateUser(LoginRequest request) {
         log.info("Attempting to authenticate user: {}", request.getUsername());
@@ -37,28 +44,48 @@ public class AuthenticationService {
                     )
             );
 
-            // Get user details
-            User user = userRepository.findByUsername(request.getUsername())
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
-            // Generate JWT token
-            String token = jwtUtil.generateToken(user.getUsername(), user.getId());
-
+            LoginUserDetails principal = (LoginUserDetails) authentication.getPrincipal();
             log.info("User authenticated successfully: {}", request.getUsername());
 
-            return LoginResponse.builder()
-                    .token(token)
-                    .tokenType("Bearer")
-                    .userId(user.getId())
-                    .username(user.getUsername())
-                    .email(user.getEmail())
-                    .message("Login successful")
-                    .expirydate(jwtUtil.extractExpiration(token))                    
-                    .build();
+            // Issuing the refresh token only needs the user's key, not another users lookup
+            User user = userRepository.getReferenceById(principal.getId());
+            return buildTokenResponse(principal.getId(), principal.getUsername(), principal.getEmail(),
+                    refreshTokenService.issue(user), "Login successful");
 
         } catch (BadCredentialsException e) {
             log.error("Invalid credentials for user: {}", request.getUsername());
             throw new BadCredentialsException("Invalid username or password");
         }
     }
+
+    public LoginResponse refreshToken(RefreshTokenRequest request) {
+        // No password check here: the refresh token itself is the credential
+        IssuedRefreshToken rotated = refreshTokenService.rotate(request.getRefreshToken());
+        User user = rotated.record().getUser();
+        log.info("Access token refreshed for user: {}", user.getUsername());
+        return buildTokenResponse(user.getId(), user.getUsername(), user.getEmail(), rotated, "Token refreshed successfully");
+    }
+
+    public void logout(RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+    }
+
+    private LoginResponse buildTokenResponse(Long userId, String username, String email,
+                                             IssuedRefreshToken refreshToken, String message) {
+        // Generate JWT token
+        IssuedJwt accessToken = jwtUtil.generateToken(username, userId);
+
+        return LoginResponse.builder()
+                .token(accessToken.token())
+                .tokenType("Bearer")
+                .userId(userId)
+                .username(username)
+                .email(email)
+                .message(message)
+                .expirydate(accessToken.expiresAt())
+                .refreshToken(refreshToken.token())
+                .refreshTokenExpiryDate(Date.from(refreshToken.record().getExpiresAt()
+                        .atZone(ZoneId.systemDefault()).toInstant()))
+                .build();
+    }
 }
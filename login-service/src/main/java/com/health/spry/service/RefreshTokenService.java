@@ -0,0 +1,134 @@
+package com.health.spry.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.health.spry.exception.InvalidRefreshTokenException;
+import com.health.spry.model.RefreshToken;
+import com.health.spry.model.User;
+import com.health.spry.repository.RefreshTokenRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues, rotates and revokes opaque refresh tokens.
+ *
+ * A refresh token is 32 random bytes (base64url). The database only keeps
+ * HMAC-SHA256(token), so renewing an access token costs one HMAC and one
+ * indexed lookup instead of a BCrypt password verification.
+ * Every successful refresh revokes the presented token and issues a new one;
+ * presenting an already revoked token is treated as theft and revokes every
+ * token of that user.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecretKeySpec hashKey;
+    private final long refreshExpiration;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-token.hash-secret:${jwt.secret}}") String hashSecret,
+                               @Value("${jwt.refresh-token.expiration:604800000}") long refreshExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.hashKey = new SecretKeySpec(hashSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    /**
+     * Token value handed to the client together with the persisted record.
+     */
+    public record IssuedRefreshToken(String token, RefreshToken record) {
+    }
+
+    @Transactional
+    public IssuedRefreshToken issue(User user) {
+        byte[] raw = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(raw);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken refreshToken = RefreshToken.builder()
+                .tokenHash(hash(token))
+                .user(user)
+                .expiresAt(now.plusNanos(refreshExpiration * 1_000_000L))
+                .revoked(false)
+                .createdAt(now)
+                .build();
+
+        return new IssuedRefreshToken(token, refreshTokenRepository.save(refreshToken));
+    }
+
+    /**
+     * Validates the presented token, revokes it and issues its replacement.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public IssuedRefreshToken rotate(String token) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashWithUser(hash(token))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+        User user = current.getUser();
+
+        if (Boolean.TRUE.equals(current.getRevoked())) {
+            log.warn("Revoked refresh token presented for user {}. Revoking all sessions.", user.getId());
+            refreshTokenRepository.revokeAllByUserId(user.getId());
+            throw new InvalidRefreshTokenException("Refresh token has been revoked");
+        }
+        if (current.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+        if (!Boolean.TRUE.equals(user.getActive())) {
+            refreshTokenRepository.revokeAllByUserId(user.getId());
+            throw new InvalidRefreshTokenException("User account is disabled");
+        }
+
+        // Conditional update guards against two concurrent refreshes with the same token
+        if (refreshTokenRepository.revokeIfActive(current.getId()) == 0) {
+            log.warn("Refresh token for user {} was rotated concurrently. Revoking all sessions.", user.getId());
+            refreshTokenRepository.revokeAllByUserId(user.getId());
+            throw new InvalidRefreshTokenException("Refresh token has been revoked");
+        }
+
+        return issue(user);
+    }
+
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHashWithUser(hash(token))
+                .ifPresent(refreshToken -> refreshTokenRepository.revokeIfActive(refreshToken.getId()));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.purge-interval:3600000}")
+    @Transactional
+    public void purgeExpiredTokens() {
+        int purged = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private byte[] hash(String token) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hashKey);
+            return mac.doFinal(token.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to hash refresh token", e);
+        }
+    }
+}
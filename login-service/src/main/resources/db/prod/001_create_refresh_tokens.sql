@@ -0,0 +1,16 @@
+-- Refresh tokens for POST /api/auth/refresh and /api/auth/logout (RefreshToken entity).
+-- Run once against library_signup_db before deploying login-service with the prod profile,
+-- which validates the schema instead of creating it.
+CREATE TABLE refresh_tokens (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    token_hash VARBINARY(32) NOT NULL,
+    user_id BIGINT NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    revoked BIT(1) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash),
+    INDEX idx_refresh_tokens_user_id (user_id),
+    INDEX idx_refresh_tokens_expires_at (expires_at),
+    CONSTRAINT fk_refresh_tokens_user_id FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
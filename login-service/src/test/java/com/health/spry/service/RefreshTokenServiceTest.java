@@ -0,0 +1,205 @@
+package com.health.spry.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.health.spry.exception.InvalidRefreshTokenException;
+import com.health.spry.model.RefreshToken;
+import com.health.spry.model.User;
+import com.health.spry.repository.RefreshTokenRepository;
+import com.health.spry.service.RefreshTokenService.IssuedRefreshToken;
+
+class RefreshTokenServiceTest {
+
+    private final InMemoryRefreshTokens tokens = new InMemoryRefreshTokens();
+    private final RefreshTokenService refreshTokenService =
+            new RefreshTokenService(tokens.repository(), "test-hash-secret", 60_000);
+
+    private final User alice = User.builder().id(1L).username("alice").active(true).build();
+    private final User bob = User.builder().id(2L).username("bob").active(true).build();
+
+    @Test
+    void rotationRevokesThePresentedTokenAndIssuesANewOne() {
+        IssuedRefreshToken issued = refreshTokenService.issue(alice);
+
+        IssuedRefreshToken rotated = refreshTokenService.rotate(issued.token());
+
+        assertThat(rotated.token()).isNotEqualTo(issued.token());
+        assertThat(rotated.record().getUser()).isEqualTo(alice);
+        assertThat(tokens.isRevoked(issued.record().getId())).isTrue();
+        assertThat(tokens.isRevoked(rotated.record().getId())).isFalse();
+        assertThat(refreshTokenService.rotate(rotated.token()).token()).isNotEqualTo(rotated.token());
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheWholeFamily() {
+        IssuedRefreshToken first = refreshTokenService.issue(alice);
+        IssuedRefreshToken otherDevice = refreshTokenService.issue(alice);
+        IssuedRefreshToken bobs = refreshTokenService.issue(bob);
+        IssuedRefreshToken second = refreshTokenService.rotate(first.token());
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(first.token()))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessage("Refresh token has been revoked");
+
+        assertThat(tokens.isRevoked(second.record().getId())).isTrue();
+        assertThat(tokens.isRevoked(otherDevice.record().getId())).isTrue();
+        assertThat(tokens.isRevoked(bobs.record().getId())).isFalse();
+        assertThatThrownBy(() -> refreshTokenService.rotate(second.token()))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    void rejectsUnknownAndExpiredTokens() {
+        RefreshTokenService expiring = new RefreshTokenService(tokens.repository(), "test-hash-secret", -1);
+        IssuedRefreshToken expired = expiring.issue(alice);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("not-a-token"))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessage("Invalid refresh token");
+        assertThatThrownBy(() -> refreshTokenService.rotate(expired.token()))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessage("Refresh token has expired");
+    }
+
+    @Test
+    void disabledUserLosesAllTokens() {
+        IssuedRefreshToken issued = refreshTokenService.issue(alice);
+        IssuedRefreshToken otherDevice = refreshTokenService.issue(alice);
+        alice.setActive(false);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(issued.token()))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessage("User account is disabled");
+        assertThat(tokens.isRevoked(otherDevice.record().getId())).isTrue();
+    }
+
+    @Test
+    void concurrentDoubleRefreshHasExactlyOneWinner() throws Exception {
+        IssuedRefreshToken issued = refreshTokenService.issue(alice);
+        // Both requests read the token while it is still active
+        tokens.holdLookups(new CyclicBarrier(2));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Callable<IssuedRefreshToken> refresh = () -> refreshTokenService.rotate(issued.token());
+            List<Future<IssuedRefreshToken>> results = List.of(executor.submit(refresh), executor.submit(refresh));
+
+            List<IssuedRefreshToken> winners = new ArrayList<>();
+            List<Throwable> losers = new ArrayList<>();
+            for (Future<IssuedRefreshToken> result : results) {
+                try {
+                    winners.add(result.get(5, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    losers.add(e.getCause());
+                }
+            }
+
+            assertThat(winners).hasSize(1);
+            assertThat(losers).hasSize(1);
+            assertThat(losers.get(0))
+                    .isInstanceOf(InvalidRefreshTokenException.class)
+                    .hasMessage("Refresh token has been revoked");
+            assertThat(tokens.isRevoked(issued.record().getId())).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Just enough of the repository for the service: lookups return a copy of the
+     * stored row, and the conditional updates are atomic like the UPDATE statements.
+     */
+    private static final class InMemoryRefreshTokens {
+
+        private final Map<Long, RefreshToken> rows = new ConcurrentHashMap<>();
+        private final AtomicLong ids = new AtomicLong();
+        private volatile CyclicBarrier lookupBarrier;
+
+        RefreshTokenRepository repository() {
+            RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+            when(repository.save(any(RefreshToken.class))).thenAnswer(invocation -> save(invocation.getArgument(0)));
+            when(repository.findByTokenHashWithUser(any())).thenAnswer(invocation -> find(invocation.getArgument(0)));
+            when(repository.revokeIfActive(anyLong())).thenAnswer(invocation -> revokeIfActive(invocation.getArgument(0)));
+            when(repository.revokeAllByUserId(anyLong())).thenAnswer(invocation -> revokeAll(invocation.getArgument(0)));
+            return repository;
+        }
+
+        void holdLookups(CyclicBarrier barrier) {
+            this.lookupBarrier = barrier;
+        }
+
+        boolean isRevoked(Long id) {
+            return rows.get(id).getRevoked();
+        }
+
+        private RefreshToken save(RefreshToken token) {
+            token.setId(ids.incrementAndGet());
+            rows.put(token.getId(), copy(token));
+            return token;
+        }
+
+        private Optional<RefreshToken> find(byte[] tokenHash) throws Exception {
+            CyclicBarrier barrier = lookupBarrier;
+            if (barrier != null) {
+                barrier.await(5, TimeUnit.SECONDS);
+            }
+            return rows.values().stream()
+                    .filter(row -> ByteBuffer.wrap(row.getTokenHash()).equals(ByteBuffer.wrap(tokenHash)))
+                    .findFirst()
+                    .map(InMemoryRefreshTokens::copy);
+        }
+
+        private synchronized int revokeIfActive(Long id) {
+            RefreshToken row = rows.get(id);
+            if (row == null || row.getRevoked()) {
+                return 0;
+            }
+            row.setRevoked(true);
+            return 1;
+        }
+
+        private synchronized int revokeAll(Long userId) {
+            int revoked = 0;
+            for (RefreshToken row : rows.values()) {
+                if (row.getUser().getId().equals(userId) && !row.getRevoked()) {
+                    row.setRevoked(true);
+                    revoked++;
+                }
+            }
+            return revoked;
+        }
+
+        private static RefreshToken copy(RefreshToken token) {
+            return RefreshToken.builder()
+                    .id(token.getId())
+                    .tokenHash(token.getTokenHash())
+                    .user(token.getUser())
+                    .expiresAt(token.getExpiresAt())
+                    .revoked(token.getRevoked())
+                    .createdAt(token.getCreatedAt())
+                    .build();
+        }
+    }
+}
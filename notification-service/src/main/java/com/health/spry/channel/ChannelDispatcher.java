@@ -0,0 +1,166 @@
+package com.health.spry.channel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.health.spry.config.NotificationPipelineProperties.ChannelSettings;
+import com.health.spry.exception.ChannelSaturatedException;
+import com.health.spry.model.OutboundNotification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulkhead and batcher in front of one {@link NotificationChannel}.
+ *
+ * Notifications wait in a bounded queue owned by this channel. Each worker
+ * thread takes the first waiting notification, collects more for up to
+ * linger-ms or until batch-size is reached, and delivers them in one call.
+ * When the queue is full new notifications are rejected immediately instead
+ * of blocking the caller, so a stalled channel cannot tie up the Kafka
+ * consumer threads or the other channels.
+ */
+@Slf4j
+class ChannelDispatcher {
+
+    private record Delivery(OutboundNotification notification, CompletableFuture<Void> result) {
+    }
+
+    private final NotificationChannel channel;
+    private final ChannelSettings settings;
+    private final BlockingQueue<Delivery> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final Timer batchLatency;
+    private final DistributionSummary batchSize;
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter rejected;
+
+    ChannelDispatcher(NotificationChannel channel, ChannelSettings settings, MeterRegistry meterRegistry) {
+        this.channel = channel;
+        this.settings = settings;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity()));
+
+        String name = channel.name();
+        this.batchLatency = Timer.builder("lms.notification.channel.batch.latency")
+                .description("Time a channel takes to deliver one batch")
+                .tag("channel", name)
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("lms.notification.channel.batch.size")
+                .description("Notifications per delivered batch")
+                .tag("channel", name)
+                .register(meterRegistry);
+        this.delivered = deliveryCounter(meterRegistry, name, "delivered");
+        this.failed = deliveryCounter(meterRegistry, name, "failed");
+        this.rejected = deliveryCounter(meterRegistry, name, "rejected");
+        Gauge.builder("lms.notification.channel.queue", queue, BlockingQueue::size)
+                .description("Notifications waiting for a channel worker")
+                .tag("channel", name)
+                .register(meterRegistry);
+    }
+
+    String name() {
+        return channel.name();
+    }
+
+    void start() {
+        for (int i = 0; i < Math.max(1, settings.getThreads()); i++) {
+            Thread worker = new Thread(this::run, "notification-" + channel.name() + "-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        List<Delivery> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(delivery -> delivery.result().completeExceptionally(
+                new ChannelSaturatedException("Channel " + channel.name() + " is shutting down")));
+    }
+
+    CompletableFuture<Void> submit(OutboundNotification notification) {
+        Delivery delivery = new Delivery(notification, new CompletableFuture<>());
+        if (!running || !queue.offer(delivery)) {
+            rejected.increment();
+            delivery.result().completeExceptionally(
+                    new ChannelSaturatedException("Channel " + channel.name() + " has no capacity left"));
+        }
+        return delivery.result();
+    }
+
+    private void run() {
+        List<Delivery> batch = new ArrayList<>(settings.getBatchSize());
+        while (running) {
+            try {
+                Delivery first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fill(List<Delivery> batch) throws InterruptedException {
+        int max = Math.max(1, settings.getBatchSize());
+        queue.drainTo(batch, max - batch.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getLingerMs());
+        while (batch.size() < max) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            Delivery next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, max - batch.size());
+        }
+    }
+
+    private void deliver(List<Delivery> batch) {
+        List<OutboundNotification> notifications = batch.stream().map(Delivery::notification).toList();
+        long start = System.nanoTime();
+        try {
+            channel.deliver(notifications);
+            batch.forEach(delivery -> delivery.result().complete(null));
+            delivered.increment(batch.size());
+        } catch (Exception e) {
+            log.warn("Channel {} failed to deliver a batch of {}: {}", channel.name(), batch.size(), e.getMessage());
+            batch.forEach(delivery -> delivery.result().completeExceptionally(e));
+            failed.increment(batch.size());
+        } finally {
+            batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSize.record(batch.size());
+        }
+    }
+
+    private static Counter deliveryCounter(MeterRegistry meterRegistry, String channel, String result) {
+        return Counter.builder("lms.notification.channel.notifications")
+                .description("Notifications handled by a channel, by result")
+                .tag("channel", channel)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,13 @@
+package com.health.spry.channel;
+
+import org.springframework.stereotype.Component;
+
+import com.health.spry.config.NotificationPipelineProperties;
+
+@Component
+public class EmailStubChannel extends StubNotificationChannel {
+
+    public EmailStubChannel(NotificationPipelineProperties properties) {
+        super("email", properties);
+    }
+}
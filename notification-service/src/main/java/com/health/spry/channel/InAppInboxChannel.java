@@ -0,0 +1,30 @@
+package com.health.spry.channel;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.health.spry.model.OutboundNotification;
+import com.health.spry.service.InboxService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Stores notifications in the users' in-app inboxes, one log write per batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class InAppInboxChannel implements NotificationChannel {
+
+    private final InboxService inboxService;
+
+    @Override
+    public String name() {
+        return "in-app";
+    }
+
+    @Override
+    public void deliver(List<OutboundNotification> batch) {
+        inboxService.deliver(batch);
+    }
+}
@@ -0,0 +1,24 @@
+package com.health.spry.channel;
+
+import java.util.List;
+
+import com.health.spry.model.OutboundNotification;
+
+/**
+ * A way of reaching users (email, push, in-app, SMS, ...).
+ *
+ * Implementations are Spring beans picked up by {@link NotificationPipeline}.
+ * They receive batches so they can amortise per-call costs, e.g. one SMTP
+ * session or one provider API request for many recipients. Each channel runs
+ * on its own worker threads, so a slow implementation only delays itself.
+ */
+public interface NotificationChannel {
+
+    /** Channel key, also used for its settings under notification.pipeline.channels. */
+    String name();
+
+    /**
+     * Delivers every notification in the batch. Throwing fails the whole batch.
+     */
+    void deliver(List<OutboundNotification> batch) throws Exception;
+}
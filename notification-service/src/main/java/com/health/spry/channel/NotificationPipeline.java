@@ -0,0 +1,99 @@
+package com.health.spry.channel;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.stereotype.Component;
+
+import com.health.spry.common.event.BookNotificationEvent;
+import com.health.spry.config.NotificationPipelineProperties;
+import com.health.spry.digest.AvailabilityDigestAggregator;
+import com.health.spry.model.OutboundNotification;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fans a notification event out to every enabled {@link NotificationChannel}.
+ *
+ * Each channel gets its own {@link ChannelDispatcher}, i.e. its own bounded
+ * queue and worker threads, and sends what has queued up in batches.
+ */
+@Component
+@Slf4j
+public class NotificationPipeline {
+
+    private final Map<String, ChannelDispatcher> dispatchers = new LinkedHashMap<>();
+
+    public NotificationPipeline(List<NotificationChannel> channels,
+                                NotificationPipelineProperties properties,
+                                MeterRegistry meterRegistry) {
+        for (NotificationChannel channel : channels) {
+            NotificationPipelineProperties.ChannelSettings settings = properties.channel(channel.name());
+            if (settings.isEnabled()) {
+                dispatchers.put(channel.name(), new ChannelDispatcher(channel, settings, meterRegistry));
+            }
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        dispatchers.values().forEach(ChannelDispatcher::start);
+        log.info("Notification pipeline started with channels {}", dispatchers.keySet());
+    }
+
+    @PreDestroy
+    void stop() {
+        dispatchers.values().forEach(ChannelDispatcher::stop);
+    }
+
+    public Set<String> channelNames() {
+        return dispatchers.keySet();
+    }
+
+    /**
+     * Queues the event on the given channels, or on all enabled channels when channels is null.
+     * Channels that are not enabled any more are skipped.
+     *
+     * @return one future per channel, completed once that channel delivered the notification
+     */
+    public Map<String, CompletableFuture<Void>> dispatch(BookNotificationEvent event, Collection<String> channels) {
+        Collection<String> targets = channels != null ? channels : dispatchers.keySet();
+        Map<String, CompletableFuture<Void>> results = new LinkedHashMap<>();
+        for (String name : targets) {
+            ChannelDispatcher dispatcher = dispatchers.get(name);
+            if (dispatcher != null) {
+                results.put(name, dispatcher.submit(toNotification(name, event)));
+            }
+        }
+        return results;
+    }
+
+    private OutboundNotification toNotification(String channel, BookNotificationEvent event) {
+        return OutboundNotification.builder()
+                .channel(channel)
+                .userId(event.getUserId())
+                .bookId(event.getBookId())
+                .eventType(event.getEventType())
+                .subject(subject(event))
+                .body(event.getMessage())
+                .build();
+    }
+
+    private static String subject(BookNotificationEvent event) {
+        String eventType = event.getEventType() != null ? event.getEventType() : "";
+        return switch (eventType) {
+            case AvailabilityDigestAggregator.DIGEST_EVENT_TYPE -> "Books from your wishlist are now available";
+            case AvailabilityDigestAggregator.AVAILABLE_EVENT_TYPE -> "Book [" + event.getBookTitle() + "] is now available";
+            default -> event.getBookTitle() != null
+                    ? "Update on book [" + event.getBookTitle() + "]"
+                    : "Library notification";
+        };
+    }
+}
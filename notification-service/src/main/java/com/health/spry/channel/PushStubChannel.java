@@ -0,0 +1,13 @@
+package com.health.spry.channel;
+
+import org.springframework.stereotype.Component;
+
+import com.health.spry.config.NotificationPipelineProperties;
+
+@Component
+public class PushStubChannel extends StubNotificationChannel {
+
+    public PushStubChannel(NotificationPipelineProperties properties) {
+        super("push", properties);
+    }
+}
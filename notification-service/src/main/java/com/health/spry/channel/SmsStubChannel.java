@@ -0,0 +1,13 @@
+package com.health.spry.channel;
+
+import org.springframework.stereotype.Component;
+
+import com.health.spry.config.NotificationPipelineProperties;
+
+@Component
+public class SmsStubChannel extends StubNotificationChannel {
+
+    public SmsStubChannel(NotificationPipelineProperties properties) {
+        super("sms", properties);
+    }
+}
@@ -0,0 +1,46 @@
+package com.health.spry.channel;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.health.spry.config.NotificationPipelineProperties;
+import com.health.spry.config.NotificationPipelineProperties.ChannelSettings;
+import com.health.spry.model.OutboundNotification;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local stand-in for a real provider: logs each notification and, if
+ * configured, waits stub-latency-ms per batch and fails a share of batches.
+ */
+@Slf4j
+public abstract class StubNotificationChannel implements NotificationChannel {
+
+    private final String name;
+    private final ChannelSettings settings;
+
+    protected StubNotificationChannel(String name, NotificationPipelineProperties properties) {
+        this.name = name;
+        this.settings = properties.channel(name);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void deliver(List<OutboundNotification> batch) throws Exception {
+        if (settings.getStubLatencyMs() > 0) {
+            // One simulated provider round trip per batch, not per notification
+            Thread.sleep(settings.getStubLatencyMs());
+        }
+        if (settings.getStubFailureRate() > 0 && ThreadLocalRandom.current().nextDouble() < settings.getStubFailureRate()) {
+            throw new IllegalStateException("Simulated " + name + " provider failure");
+        }
+        for (OutboundNotification notification : batch) {
+            log.info("[{}] to user {}: {} - {}", name.toUpperCase(), notification.getUserId(),
+                    notification.getSubject(), notification.getBody());
+        }
+    }
+}
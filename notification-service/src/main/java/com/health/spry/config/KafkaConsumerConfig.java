@@ -14,7 +14,7 @@ import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
-import com.health.spry.kafka.BookNotificationEvent;
+import com.health.spry.common.event.BookNotificationEvent;
 
 @Configuration
 @EnableKafka
@@ -0,0 +1,45 @@
+package com.health.spry.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Settings of the delivery pipeline, bound from notification.pipeline.*.
+ * Channels without an entry under channels use the ChannelSettings defaults.
+ */
+@Component
+@ConfigurationProperties(prefix = "notification.pipeline")
+@Data
+public class NotificationPipelineProperties {
+
+    /** How long a delivery waits for all channels before failing the slow ones. */
+    private long deliveryTimeoutMs = 30000;
+
+    private Map<String, ChannelSettings> channels = new HashMap<>();
+
+    public ChannelSettings channel(String name) {
+        return channels.getOrDefault(name, new ChannelSettings());
+    }
+
+    @Data
+    public static class ChannelSettings {
+        private boolean enabled = true;
+        /** Maximum notifications handed to the channel in one call. */
+        private int batchSize = 50;
+        /** How long a worker waits for a batch to fill once it holds the first notification. */
+        private long lingerMs = 20;
+        /** Worker threads dedicated to this channel (the bulkhead). */
+        private int threads = 2;
+        /** Notifications that may wait for this channel before new ones are rejected. */
+        private int queueCapacity = 1000;
+        /** Simulated time per batch for the local stub channels. */
+        private long stubLatencyMs = 0;
+        /** Share of batches the local stub channels fail, to exercise retries. */
+        private double stubFailureRate = 0.0;
+    }
+}
@@ -0,0 +1,96 @@
+package com.health.spry.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.health.spry.dto.InboxPageResponse;
+import com.health.spry.dto.UnreadCountResponse;
+import com.health.spry.security.AuthenticatedUser;
+import com.health.spry.security.JwtAuthenticationException;
+import com.health.spry.service.InboxService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/notification/inbox")
+@RequiredArgsConstructor
+@Tag(name = "Inbox", description = "In-app notification inbox of the authenticated user")
+public class InboxController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final InboxService inboxService;
+
+    @GetMapping
+    @Operation(summary = "Get inbox", description = "Newest in-app notifications first. Pass nextCursor from the previous page as 'before' to load older ones.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Inbox retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = InboxPageResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content)
+    })
+    public ResponseEntity<InboxPageResponse> getInbox(
+            @Parameter(hidden = true) @AuthenticationPrincipal AuthenticatedUser user,
+            @Parameter(description = "Only entries older than this entry id") @RequestParam(required = false) Long before,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(inboxService.getInbox(currentUserId(user), before, pageSize));
+    }
+
+    @GetMapping("/unread-count")
+    @Operation(summary = "Get unread count", description = "Number of unread in-app notifications, served from an in-memory counter")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Unread count retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = UnreadCountResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content)
+    })
+    public ResponseEntity<UnreadCountResponse> getUnreadCount(
+            @Parameter(hidden = true) @AuthenticationPrincipal AuthenticatedUser user) {
+        Long userId = currentUserId(user);
+        return ResponseEntity.ok(UnreadCountResponse.builder()
+                .userId(userId)
+                .unreadCount(inboxService.getUnreadCount(userId))
+                .build());
+    }
+
+    @PutMapping("/read")
+    @Operation(summary = "Mark as read", description = "Mark the given entry ids as read, or the whole inbox when no ids are sent")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Entries marked as read",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = UnreadCountResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content)
+    })
+    public ResponseEntity<UnreadCountResponse> markRead(@Parameter(hidden = true) @AuthenticationPrincipal AuthenticatedUser user,
+                                                        @RequestBody(required = false) List<Long> ids) {
+        Long userId = currentUserId(user);
+        inboxService.markRead(userId, ids);
+        return ResponseEntity.ok(UnreadCountResponse.builder()
+                .userId(userId)
+                .unreadCount(inboxService.getUnreadCount(userId))
+                .build());
+    }
+
+    private Long currentUserId(AuthenticatedUser user) {
+        if (user == null || user.userId() == null) {
+            throw new JwtAuthenticationException("Token does not identify a user, please log in again");
+        }
+        return user.userId();
+    }
+}
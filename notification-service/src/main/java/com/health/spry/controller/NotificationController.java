@@ -2,20 +2,48 @@ package com.health.spry.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.health.spry.dto.DeadLetterFilter;
+import com.health.spry.dto.DeadLetterReplayRequest;
+import com.health.spry.dto.DeadLetterReplayResponse;
+import com.health.spry.dto.PagedResponse;
+import com.health.spry.model.DeadLetterRecord;
+import com.health.spry.service.DeadLetterService;
 
 @RestController
 @RequestMapping("/notification")
+@RequiredArgsConstructor
+@Slf4j
 @Tag(name = "Notification", description = "Notification service monitoring and health check APIs")
 public class NotificationController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final DeadLetterService deadLetterService;
+
     @GetMapping("/health")
     @Operation(summary = "Health check", description = "Check if the notification service is running and consuming Kafka messages")
     @ApiResponses(value = {
@@ -25,4 +53,77 @@ public class NotificationController {
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("Notification Service is running and consuming Kafka messages");
     }
+
+    @GetMapping("/admin/dead-letters")
+    @SecurityRequirement(name = "adminKey")
+    @Operation(summary = "List dead letters", description = "List notification events that exhausted all retries, newest first, with optional filters")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dead letters retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PagedResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Missing or wrong admin key",
+                    content = @Content)
+    })
+    public ResponseEntity<PagedResponse<DeadLetterRecord>> getDeadLetters(
+            @Parameter(description = "Filter by user id") @RequestParam(required = false) Long userId,
+            @Parameter(description = "Filter by book id") @RequestParam(required = false) Long bookId,
+            @Parameter(description = "Filter by event type") @RequestParam(required = false) String eventType,
+            @Parameter(description = "Filter on whether the record was already replayed") @RequestParam(required = false) Boolean replayed,
+            @Parameter(description = "Failed at or after (ISO-8601)") @RequestParam(required = false)
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant failedFrom,
+            @Parameter(description = "Failed before (ISO-8601)") @RequestParam(required = false)
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant failedTo,
+            @Parameter(description = "Only these record ids") @RequestParam(required = false) List<Long> ids,
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+
+        DeadLetterFilter filter = DeadLetterFilter.builder()
+                .ids(ids)
+                .userId(userId)
+                .bookId(bookId)
+                .eventType(eventType)
+                .replayed(replayed)
+                .failedFrom(failedFrom)
+                .failedTo(failedTo)
+                .build();
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(deadLetterService.find(filter, Math.max(0, page), pageSize));
+    }
+
+    @PostMapping("/admin/dead-letters/replay")
+    @SecurityRequirement(name = "adminKey")
+    @Operation(summary = "Replay dead letters",
+            description = "Start a background job that republishes matching dead letters to the notification topic "
+                    + "in rate-limited batches. Without a filter every record that was not replayed yet is selected. "
+                    + "Poll the returned job id for progress.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Replay started",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = DeadLetterReplayResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Missing or wrong admin key",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Another replay is already running",
+                    content = @Content)
+    })
+    public ResponseEntity<DeadLetterReplayResponse> replayDeadLetters(
+            @RequestBody(required = false) DeadLetterReplayRequest request) {
+        log.info("Received dead letter replay request: {}", request);
+        DeadLetterReplayResponse job = deadLetterService.startReplay(request != null ? request : new DeadLetterReplayRequest());
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{jobId}").buildAndExpand(job.getJobId()).toUri())
+                .body(job);
+    }
+
+    @GetMapping("/admin/dead-letters/replay/{jobId}")
+    @SecurityRequirement(name = "adminKey")
+    @Operation(summary = "Get replay job", description = "Progress and outcome of a dead letter replay job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Replay job found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = DeadLetterReplayResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Missing or wrong admin key",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired job id",
+                    content = @Content)
+    })
+    public ResponseEntity<DeadLetterReplayResponse> getReplayJob(@PathVariable String jobId) {
+        return ResponseEntity.of(deadLetterService.getReplayJob(jobId));
+    }
 }
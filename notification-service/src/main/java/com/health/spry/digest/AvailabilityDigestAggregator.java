@@ -0,0 +1,405 @@
+package com.health.spry.digest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.health.spry.common.event.BookNotificationEvent;
+import com.health.spry.exception.LocalStoreException;
+import com.health.spry.model.DigestEntry;
+import com.health.spry.repository.JsonLinesLog;
+import com.health.spry.retry.NotificationRetryScheduler;
+import com.health.spry.retry.TimerWheel;
+import com.health.spry.service.NotificationService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesces BOOK_AVAILABLE events per user into one digest notification.
+ *
+ * The first event for a user opens a window of window-ms; every further event
+ * for that user joins it. When the window closes, or max-events is reached,
+ * the user gets a single notification listing all books (one event is sent
+ * unchanged). Waiting events are written to a local log, so an open window
+ * survives a restart, and windows are timed with a {@link TimerWheel}.
+ * Closed windows are handed to the pipeline without waiting for delivery; at
+ * most max-in-flight digests are outstanding, beyond that the ticker (or the
+ * consumer filling a window) waits. A digest that fails to deliver goes through
+ * the normal retry scheduler.
+ *
+ * Log writes are group committed: a consumer thread appends its entry outside
+ * the window lock, and while one thread writes and flushes, entries from other
+ * threads collect into the next batch, so concurrent consumers share one fsync.
+ * An entry joins its window before its line is written; a record is only
+ * acknowledged once that write returned, and an entry whose write failed is
+ * taken out again. Should its window close in between, the digest can go out
+ * for an event that is then redelivered and notified once more.
+ */
+@Component
+@Slf4j
+public class AvailabilityDigestAggregator {
+
+    public static final String AVAILABLE_EVENT_TYPE = "BOOK_AVAILABLE";
+    public static final String DIGEST_EVENT_TYPE = "BOOK_AVAILABLE_DIGEST";
+
+    /** Identifies one window, so a wheel slot left behind by an early flush does not close the next window. */
+    private record WindowKey(Long userId, Long firstEntryId) {
+    }
+
+    /** Entries written to the digest log with one append and one flush. */
+    private static final class LogBatch {
+        private final List<DigestEntry> entries = new ArrayList<>();
+        private boolean done;
+        private IOException failure;
+    }
+
+    private final NotificationService notificationService;
+    private final NotificationRetryScheduler retryScheduler;
+    private final JsonLinesLog<DigestEntry> digestLog;
+    private final boolean enabled;
+    private final long windowMs;
+    private final int maxEvents;
+    private final long tickMs;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+
+    private final Map<Long, List<DigestEntry>> windows = new HashMap<>();
+    /** Entries taken out of a window whose notification has not been confirmed yet. */
+    private final Map<Long, DigestEntry> sending = new HashMap<>();
+    /** Entries in windows plus entries in sending. */
+    private long pendingEntries;
+    private long nextId = 1;
+
+    private final Object logLock = new Object();
+    private LogBatch openBatch = new LogBatch();
+    private boolean writing;
+    /** Only touched by the thread writing a batch. */
+    private long appendsSinceCompaction;
+
+    private TimerWheel<WindowKey> wheel;
+    private ScheduledExecutorService ticker;
+
+    private final Counter coalescedCounter;
+    private final DistributionSummary digestSize;
+
+    public AvailabilityDigestAggregator(NotificationService notificationService,
+                                        NotificationRetryScheduler retryScheduler,
+                                        ObjectMapper objectMapper,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${notification.digest.enabled:true}") boolean enabled,
+                                        @Value("${notification.digest.window-ms:60000}") long windowMs,
+                                        @Value("${notification.digest.max-events:20}") int maxEvents,
+                                        @Value("${notification.digest.tick-ms:500}") long tickMs,
+                                        @Value("${notification.digest.log-path:./data/digests.log}") String logPath,
+                                        @Value("${notification.digest.fsync:true}") boolean fsync,
+                                        @Value("${notification.digest.max-in-flight:200}") int maxInFlight) {
+        this.notificationService = notificationService;
+        this.retryScheduler = retryScheduler;
+        this.digestLog = new JsonLinesLog<>(Path.of(logPath), fsync, objectMapper, DigestEntry.class);
+        this.enabled = enabled && windowMs > 0;
+        this.windowMs = windowMs;
+        this.maxEvents = Math.max(1, maxEvents);
+        this.tickMs = tickMs;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.inFlight = new Semaphore(this.maxInFlight);
+
+        this.coalescedCounter = Counter.builder("lms.notification.digest.coalesced")
+                .description("Availability events merged into another notification")
+                .register(meterRegistry);
+        this.digestSize = DistributionSummary.builder("lms.notification.digest.size")
+                .description("Availability events per notification sent")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, DigestEntry> restored = digestLog.open(DigestEntry::getId, entry -> !entry.isFlushed());
+        wheel = new TimerWheel<>(tickMs, 1024, System.currentTimeMillis());
+        synchronized (this) {
+            restored.values().stream()
+                    .sorted(Comparator.comparing(DigestEntry::getId))
+                    .forEach(entry -> {
+                        List<DigestEntry> window = windows.computeIfAbsent(entry.getEvent().getUserId(), userId -> new ArrayList<>());
+                        if (window.isEmpty()) {
+                            wheel.schedule(new WindowKey(entry.getEvent().getUserId(), entry.getId()), entry.getReceivedAt() + windowMs);
+                        }
+                        window.add(entry);
+                        pendingEntries++;
+                        nextId = Math.max(nextId, entry.getId() + 1);
+                    });
+        }
+
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "notification-digest-ticker"));
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        log.info("Availability digest started ({} ms window) with {} pending events", windowMs, restored.size());
+    }
+
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        ticker.shutdownNow();
+        // Digests still in flight stay unflushed in the log and are sent again after the restart
+        inFlight.tryAcquire(maxInFlight, 10, TimeUnit.SECONDS);
+        digestLog.close();
+    }
+
+    /**
+     * Takes an availability event into the user's digest window.
+     *
+     * @return false if the event is not coalesced and should be processed right away
+     */
+    public boolean offer(BookNotificationEvent event, String topic, int partition, long offset) {
+        if (!enabled || !AVAILABLE_EVENT_TYPE.equals(event.getEventType()) || event.getUserId() == null) {
+            return false;
+        }
+
+        DigestEntry entry;
+        List<DigestEntry> full = null;
+        synchronized (this) {
+            entry = DigestEntry.builder()
+                    .id(nextId++)
+                    .event(event)
+                    .sourceTopic(topic)
+                    .partition(partition)
+                    .offset(offset)
+                    .receivedAt(System.currentTimeMillis())
+                    .build();
+            List<DigestEntry> window = windows.computeIfAbsent(event.getUserId(), userId -> new ArrayList<>());
+            if (window.isEmpty()) {
+                wheel.schedule(new WindowKey(event.getUserId(), entry.getId()), entry.getReceivedAt() + windowMs);
+            }
+            window.add(entry);
+            pendingEntries++;
+            if (window.size() >= maxEvents) {
+                full = takeWindow(event.getUserId());
+            }
+        }
+
+        try {
+            write(List.of(entry));
+        } catch (LocalStoreException e) {
+            // Not durable, so take it back out; the container redelivers the record
+            withdraw(entry);
+            if (full != null) {
+                full.removeIf(taken -> taken.getId().equals(entry.getId()));
+                if (!full.isEmpty()) {
+                    send(full);
+                }
+            }
+            throw e;
+        }
+        if (full != null) {
+            send(full);
+        }
+        return true;
+    }
+
+    private void tick() {
+        try {
+            for (WindowKey key : wheel.advance(System.currentTimeMillis())) {
+                List<DigestEntry> entries;
+                synchronized (this) {
+                    List<DigestEntry> window = windows.get(key.userId());
+                    if (window == null || window.isEmpty() || !window.get(0).getId().equals(key.firstEntryId())) {
+                        continue;
+                    }
+                    entries = takeWindow(key.userId());
+                }
+                send(entries);
+            }
+        } catch (RuntimeException e) {
+            log.error("Availability digest tick failed", e);
+        }
+    }
+
+    private void send(List<DigestEntry> entries) {
+        // Several status flips of the same book within one window count once
+        Map<Long, BookNotificationEvent> books = new LinkedHashMap<>();
+        entries.forEach(entry -> books.put(entry.getEvent().getBookId(), entry.getEvent()));
+        BookNotificationEvent notification = books.size() == 1 ? books.values().iterator().next() : digest(books.values());
+
+        inFlight.acquireUninterruptibly();
+        try {
+            notificationService.deliver(notification, null).whenComplete((ignored, failure) -> {
+                try {
+                    sent(entries, notification, failure);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void sent(List<DigestEntry> entries, BookNotificationEvent notification, Throwable failure) {
+        if (failure != null) {
+            Exception cause = NotificationService.failureOf(failure);
+            log.warn("Digest for user {} failed, scheduling retry: {}", notification.getUserId(), cause.getMessage());
+            DigestEntry first = entries.get(0);
+            try {
+                retryScheduler.scheduleRetry(notification, first.getSourceTopic(), first.getPartition(), first.getOffset(), null, cause);
+            } catch (RuntimeException persistFailure) {
+                // Leave the entries unflushed; they are sent again after a restart
+                log.error("Could not schedule retry for digest of user {}", notification.getUserId(), persistFailure);
+                return;
+            }
+        }
+
+        coalescedCounter.increment(entries.size() - 1);
+        digestSize.record(entries.size());
+        synchronized (this) {
+            entries.forEach(entry -> {
+                if (sending.remove(entry.getId()) != null) {
+                    pendingEntries--;
+                }
+            });
+        }
+        try {
+            write(entries.stream().map(entry -> entry.toBuilder().flushed(true).build()).toList());
+        } catch (LocalStoreException e) {
+            log.warn("Could not mark digest entries of user {} as sent", notification.getUserId(), e);
+        }
+    }
+
+    private BookNotificationEvent digest(Collection<BookNotificationEvent> events) {
+        BookNotificationEvent any = events.iterator().next();
+        String titles = events.stream().map(BookNotificationEvent::getBookTitle).collect(Collectors.joining(", "));
+        return BookNotificationEvent.builder()
+                .userId(any.getUserId())
+                .eventType(DIGEST_EVENT_TYPE)
+                .bookTitle(titles)
+                .message(events.size() + " books from your wishlist are now available: " + titles)
+                .build();
+    }
+
+    /** Caller holds the monitor. */
+    private List<DigestEntry> takeWindow(Long userId) {
+        List<DigestEntry> entries = windows.remove(userId);
+        entries.forEach(entry -> sending.put(entry.getId(), entry));
+        return entries;
+    }
+
+    /** Removes an entry whose log write failed from its window, or from sending if the window already closed. */
+    private synchronized void withdraw(DigestEntry entry) {
+        Long userId = entry.getEvent().getUserId();
+        List<DigestEntry> window = windows.get(userId);
+        int index = window == null ? -1 : window.indexOf(entry);
+        if (index >= 0) {
+            window.remove(index);
+            pendingEntries--;
+            if (window.isEmpty()) {
+                windows.remove(userId);
+            } else if (index == 0) {
+                DigestEntry first = window.get(0);
+                wheel.schedule(new WindowKey(userId, first.getId()), first.getReceivedAt() + windowMs);
+            }
+        } else if (sending.remove(entry.getId()) != null) {
+            pendingEntries--;
+        }
+    }
+
+    /**
+     * Appends entries to the digest log and returns once they are flushed. Entries
+     * from threads arriving while a batch is being written form the next batch,
+     * which the first of them writes as soon as the current one is done.
+     */
+    private void write(List<DigestEntry> entries) {
+        LogBatch batch;
+        boolean interrupted = false;
+        synchronized (logLock) {
+            batch = openBatch;
+            batch.entries.addAll(entries);
+            while (!batch.done && writing) {
+                try {
+                    logLock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (!batch.done) {
+                writing = true;
+                openBatch = new LogBatch();
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!batch.done) {
+            IOException failure = null;
+            try {
+                digestLog.appendAll(batch.entries);
+            } catch (IOException e) {
+                failure = e;
+            }
+            if (failure == null) {
+                compactIfNeeded(batch.entries.size());
+            }
+            synchronized (logLock) {
+                batch.failure = failure;
+                batch.done = true;
+                writing = false;
+                logLock.notifyAll();
+            }
+        }
+        if (batch.failure != null) {
+            throw new LocalStoreException("Could not write to digest log " + digestLog.path(), batch.failure);
+        }
+    }
+
+    /**
+     * Runs in the writing thread, so no append can land between taking the snapshot
+     * and rewriting the file. Entries join a window before their line is queued, so
+     * every entry already in the log is part of the snapshot.
+     */
+    private void compactIfNeeded(int appended) {
+        appendsSinceCompaction += appended;
+        Map<Long, DigestEntry> live;
+        synchronized (this) {
+            if (appendsSinceCompaction <= Math.max(1000, 2 * pendingEntries)) {
+                return;
+            }
+            live = new LinkedHashMap<>(sending);
+            windows.values().forEach(window -> window.forEach(entry -> live.put(entry.getId(), entry)));
+        }
+        try {
+            digestLog.rewrite(live);
+            appendsSinceCompaction = 0;
+        } catch (IOException e) {
+            log.warn("Could not compact digest log {}", digestLog.path(), e);
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,50 @@
+package com.health.spry.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.health.spry.model.DeadLetterRecord;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Criteria for listing and replaying dead letters. Unset fields match everything.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeadLetterFilter {
+    private List<Long> ids;
+    private Long userId;
+    private Long bookId;
+    private String eventType;
+    private Boolean replayed;
+    private Instant failedFrom;
+    private Instant failedTo;
+
+    public boolean matches(DeadLetterRecord record) {
+        if (ids != null && !ids.isEmpty() && !ids.contains(record.getId())) {
+            return false;
+        }
+        if (userId != null && !userId.equals(record.getEvent().getUserId())) {
+            return false;
+        }
+        if (bookId != null && !bookId.equals(record.getEvent().getBookId())) {
+            return false;
+        }
+        if (eventType != null && !eventType.equalsIgnoreCase(record.getEvent().getEventType())) {
+            return false;
+        }
+        if (replayed != null && replayed != record.isReplayed()) {
+            return false;
+        }
+        if (failedFrom != null && record.getFailedAt().isBefore(failedFrom)) {
+            return false;
+        }
+        return failedTo == null || record.getFailedAt().isBefore(failedTo);
+    }
+}
@@ -0,0 +1,17 @@
+package com.health.spry.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeadLetterReplayRequest {
+    /** Records to replay. Defaults to every record that has not been replayed yet. */
+    private DeadLetterFilter filter;
+    /** Upper bound on records replayed by this request; capped by notification.dead-letter.replay.max-per-request. */
+    private Integer limit;
+}
@@ -0,0 +1,34 @@
+package com.health.spry.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of a dead letter replay job; counts grow while the job is running.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class DeadLetterReplayResponse {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    private String jobId;
+    private Status status;
+    private int matched;
+    /** Records picked for this job, at most the request limit. */
+    private int selected;
+    private int replayed;
+    private int failed;
+    private List<Long> failedIds;
+    private Instant startedAt;
+    private long durationMs;
+    /** Why the job stopped early, when status is FAILED. */
+    private String error;
+}
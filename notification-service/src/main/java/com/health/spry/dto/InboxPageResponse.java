@@ -0,0 +1,21 @@
+package com.health.spry.dto;
+
+import java.util.List;
+
+import com.health.spry.model.InboxEntry;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InboxPageResponse {
+    private List<InboxEntry> content;
+    private int unreadCount;
+    /** Pass as before to fetch the next (older) page; null when there are no older entries. */
+    private Long nextCursor;
+}
@@ -0,0 +1,15 @@
+package com.health.spry.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UnreadCountResponse {
+    private Long userId;
+    private int unreadCount;
+}
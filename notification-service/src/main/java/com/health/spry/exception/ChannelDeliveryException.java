@@ -0,0 +1,21 @@
+package com.health.spry.exception;
+
+import java.util.Set;
+
+/**
+ * Thrown when at least one channel could not deliver a notification.
+ * Only the failed channels need to be retried.
+ */
+public class ChannelDeliveryException extends RuntimeException {
+
+    private final Set<String> failedChannels;
+
+    public ChannelDeliveryException(Set<String> failedChannels, String message) {
+        super(message);
+        this.failedChannels = Set.copyOf(failedChannels);
+    }
+
+    public Set<String> getFailedChannels() {
+        return failedChannels;
+    }
+}
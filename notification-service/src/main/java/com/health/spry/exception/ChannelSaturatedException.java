@@ -0,0 +1,7 @@
+package com.health.spry.exception;
+
+public class ChannelSaturatedException extends RuntimeException {
+    public ChannelSaturatedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,33 @@
+package com.health.spry.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.health.spry.common.exception.BaseGlobalExceptionHandler;
+import com.health.spry.common.exception.ErrorResponse;
+import com.health.spry.security.JwtAuthenticationException;
+
+import lombok.extern.slf4j.Slf4j;
+
+@RestControllerAdvice
+@Slf4j
+public class GlobalExceptionHandler extends BaseGlobalExceptionHandler {
+
+    @ExceptionHandler(JwtAuthenticationException.class)
+    public ResponseEntity<ErrorResponse> handleJwtAuthenticationException(JwtAuthenticationException ex) {
+        return buildErrorResponse(HttpStatus.UNAUTHORIZED, "Unauthorized", ex.getMessage());
+    }
+
+    @ExceptionHandler(ReplayInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleReplayInProgress(ReplayInProgressException ex) {
+        return buildErrorResponse(HttpStatus.CONFLICT, "Conflict", ex.getMessage());
+    }
+
+    @ExceptionHandler(LocalStoreException.class)
+    public ResponseEntity<ErrorResponse> handleLocalStore(LocalStoreException ex) {
+        log.error("Local store error", ex);
+        return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", ex.getMessage());
+    }
+}
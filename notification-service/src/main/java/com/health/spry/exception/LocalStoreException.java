@@ -0,0 +1,7 @@
+package com.health.spry.exception;
+
+public class LocalStoreException extends RuntimeException {
+    public LocalStoreException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.health.spry.exception;
+
+public class ReplayInProgressException extends RuntimeException {
+    public ReplayInProgressException(String message) {
+        super(message);
+    }
+}
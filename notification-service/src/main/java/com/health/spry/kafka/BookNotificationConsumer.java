@@ -1,55 +1,111 @@
 package com.health.spry.kafka;
 
-import org.springframework.kafka.annotation.DltHandler;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.annotation.RetryableTopic;
-import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Service;
 
+import com.health.spry.common.event.BookNotificationEvent;
+import com.health.spry.digest.AvailabilityDigestAggregator;
+import com.health.spry.retry.NotificationRetryScheduler;
+import com.health.spry.service.DeadLetterService;
 import com.health.spry.service.NotificationService;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class BookNotificationConsumer {
 
+    private static final long HAND_OFF_RETRY_INITIAL_MS = 500;
+    private static final long HAND_OFF_RETRY_MAX_MS = 30_000;
+
+    /** A failed record waiting to be handed to the retry scheduler. */
+    private record FailedRecord(BookNotificationEvent event, String topic, int partition, long offset,
+                                Long deadLetterId, Exception cause, Acknowledgment acknowledgment) {
+    }
+
     private final NotificationService notificationService;
+    private final ConsumerProcessingStats processingStats;
+    private final NotificationRetryScheduler retryScheduler;
+    private final AvailabilityDigestAggregator digestAggregator;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final ScheduledExecutorService handOffRetries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-retry-hand-off");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BookNotificationConsumer(NotificationService notificationService,
+                                    ConsumerProcessingStats processingStats,
+                                    NotificationRetryScheduler retryScheduler,
+                                    AvailabilityDigestAggregator digestAggregator,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${kafka.listener.max-in-flight:500}") int maxInFlight) {
+        this.notificationService = notificationService;
+        this.processingStats = processingStats;
+        this.retryScheduler = retryScheduler;
+        this.digestAggregator = digestAggregator;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.inFlight = new Semaphore(this.maxInFlight);
+        Gauge.builder("lms.notification.consumer.in-flight", inFlight, permits -> this.maxInFlight - permits.availablePermits())
+                .description("Records handed to the pipeline whose delivery has not completed yet")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        // Records still waiting for their hand-off stay uncommitted and are consumed again after the restart
+        handOffRetries.shutdownNow();
+    }
 
     /**
      * Reliable Kafka consumer with:
-     * 1. Automatic retries with exponential backoff
-     * 2. Dead Letter Queue (DLQ) for failed messages after all retries
-     * 
-     * Retry Strategy:
-     * - Attempt 1: Immediate
+     * 1. Non-blocking retries with exponential backoff
+     * 2. Dead letter store for failed messages after all retries
+     *
+     * Retry Strategy (see notification.retry.* settings):
+     * - Attempt 1: Immediate, from the consumer
      * - Attempt 2: After 2 seconds
      * - Attempt 3: After 4 seconds
      * - Attempt 4: After 8 seconds
-     * - After 4 attempts: Send to DLQ
-     * 
-     * NOTE: When using @RetryableTopic, Spring handles acknowledgment automatically.
-     * Manual ACK is not compatible with @RetryableTopic.
+     * - After 4 attempts: Store as dead letter
+     *
+     * The consumer thread only hands the event to the pipeline and moves on to the
+     * next record; the record is acknowledged when its delivery completes. A failed
+     * event is handed to NotificationRetryScheduler and acknowledged as well, so later
+     * records on the same partition are not held back while one recipient is being
+     * retried. Acks may arrive out of order; with async-acks the container commits an
+     * offset only once every record before it has been acknowledged. If the retry
+     * cannot be persisted, the hand-off is tried again locally with backoff and the
+     * record is acknowledged once it succeeds; until then its in-flight slot stays
+     * taken, so a failing retry log slows the consumer down instead of leaving a gap
+     * that only a rebalance would clear. At most
+     * max-in-flight deliveries are outstanding at once; beyond that the consumer
+     * thread waits, which keeps the channel queues from overflowing.
+     *
+     * BOOK_AVAILABLE events are first collected per user by
+     * AvailabilityDigestAggregator and sent as one digest when the window closes.
+     * Events replayed from the dead letter store carry their record id in the
+     * replay header; if they fail again, that record is updated instead of a new one
+     * being added.
      */
-    @RetryableTopic(
-            attempts = "4",  // Total attempts (1 original + 3 retries)
-            backoff = @Backoff(
-                    delay = 2000,      // Initial delay: 2 seconds
-                    multiplier = 2.0,  // Exponential backoff multiplier
-                    maxDelay = 10000   // Maximum delay: 10 seconds
-            ),
-            autoCreateTopics = "true",  // Auto-create retry and DLT topics
-            include = {Exception.class},  // Retry on any exception
-            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,  // Naming: topic-retry-0, topic-retry-1, etc.
-            dltTopicSuffix = "-dlt"  // DLT topic suffix
-    )
     @KafkaListener(
+            id = ListenerConcurrencyScaler.LISTENER_ID,
             topics = "${kafka.topic.book-notification}",
             groupId = "${spring.kafka.consumer.group-id}"
     )
@@ -57,74 +113,99 @@ public class BookNotificationConsumer {
             @Payload BookNotificationEvent event,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset) {
-        
+            @Header(KafkaHeaders.OFFSET) long offset,
+            @Header(name = DeadLetterService.REPLAY_HEADER, required = false) byte[] replayOf,
+            Acknowledgment acknowledgment) {
+
         log.info("┌─────────────────────────────────────────────────────────────");
         log.info("│ Consuming message from Kafka");
         log.info("│ Topic: {}, Partition: {}, Offset: {}", topic, partition, offset);
         log.info("│ Event: {}", event);
         log.info("└─────────────────────────────────────────────────────────────");
-        
-        // Process the notification
-        // If this throws an exception, @RetryableTopic will automatically retry
-        notificationService.processNotification(event);
-        
-        log.info("✅ Successfully processed notification for user: {} (offset: {})", 
-                event.getUserId(), offset);
-        
-        // NOTE: No manual acknowledgment needed - Spring handles it automatically
-        // after successful processing or after sending to DLT
+
+        Long deadLetterId = deadLetterId(replayOf);
+        // A replayed event is already late, so it is not held back for a digest
+        if (deadLetterId == null && digestAggregator.offer(event, topic, partition, offset)) {
+            log.info("Added notification for user {} to the availability digest (offset: {})", event.getUserId(), offset);
+            acknowledgment.acknowledge();
+            return;
+        }
+
+        inFlight.acquireUninterruptibly();
+        long start = System.nanoTime();
+        try {
+            notificationService.deliver(event, null).whenComplete((ignored, failure) -> {
+                // Delivery time, from hand-off to completion; this is what the scaler sizes the listener from
+                processingStats.record(System.nanoTime() - start);
+                if (failure == null) {
+                    log.info("✅ Successfully processed notification for user: {} (offset: {})",
+                            event.getUserId(), offset);
+                    acknowledge(acknowledgment);
+                } else {
+                    Exception cause = NotificationService.failureOf(failure);
+                    log.warn("Notification for user {} failed (offset: {}), scheduling retry: {}",
+                            event.getUserId(), offset, cause.getMessage());
+                    handOff(new FailedRecord(event, topic, partition, offset, deadLetterId, cause, acknowledgment),
+                            HAND_OFF_RETRY_INITIAL_MS);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void handOff(FailedRecord failed, long backoffMs) {
+        try {
+            retryScheduler.scheduleRetry(failed.event(), failed.topic(), failed.partition(), failed.offset(),
+                    failed.deadLetterId(), failed.cause());
+        } catch (RuntimeException e) {
+            log.error("Could not schedule a retry for user {} (offset: {}), trying again in {} ms",
+                    failed.event().getUserId(), failed.offset(), backoffMs, e);
+            try {
+                handOffRetries.schedule(() -> handOff(failed, Math.min(2 * backoffMs, HAND_OFF_RETRY_MAX_MS)),
+                        backoffMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException shuttingDown) {
+                inFlight.release();
+            }
+            return;
+        }
+        acknowledge(failed.acknowledgment());
+    }
+
+    private void acknowledge(Acknowledgment acknowledgment) {
+        try {
+            acknowledgment.acknowledge();
+        } catch (RuntimeException e) {
+            log.error("Could not acknowledge record", e);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private static Long deadLetterId(byte[] replayHeader) {
+        if (replayHeader == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(replayHeader, StandardCharsets.UTF_8));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed {} header: {}", DeadLetterService.REPLAY_HEADER, e.getMessage());
+            return null;
+        }
     }
 
     /**
-     * Dead Letter Topic (DLT) Handler
-     * 
-     * This method is called when a message fails after all retry attempts.
-     * Messages that reach here have failed 4 times and are sent to the DLT.
-     * 
-     * Actions:
-     * 1. Log the failure with full details
-     * 2. Store in database for manual review (future enhancement)
-     * 3. Send alert to monitoring system (future enhancement)
+     * Waits until every delivery handed to the pipeline so far has completed and been
+     * acknowledged, or the timeout has passed.
+     *
+     * @return whether all deliveries completed in time
      */
-    @DltHandler
-    public void handleDlt(
-            @Payload BookNotificationEvent event,
-            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset,
-            @Header(value = KafkaHeaders.EXCEPTION_MESSAGE, required = false) String exceptionMessage,
-            @Header(value = KafkaHeaders.EXCEPTION_STACKTRACE, required = false) String stackTrace) {
-        
-        log.error("╔═════════════════════════════════════════════════════════════");
-        log.error("║ MESSAGE SENT TO DEAD LETTER QUEUE");
-        log.error("║ All retry attempts exhausted!");
-        log.error("╠═════════════════════════════════════════════════════════════");
-        log.error("║ DLT Topic: {}", topic);
-        log.error("║ Original Topic: {}", topic.replace("-dlt", ""));
-        log.error("║ Partition: {}, Offset: {}", partition, offset);
-        log.error("║ Event: {}", event);
-        log.error("║ Final Error: {}", exceptionMessage);
-        log.error("╠═════════════════════════════════════════════════════════════");
-        log.error("║ Stack Trace:");
-        if (stackTrace != null) {
-            log.error("{}", stackTrace);
+    boolean awaitDeliveries(long timeoutMs) throws InterruptedException {
+        if (!inFlight.tryAcquire(maxInFlight, timeoutMs, TimeUnit.MILLISECONDS)) {
+            return false;
         }
-        log.error("╠═════════════════════════════════════════════════════════════");
-        log.error("║ ACTION REQUIRED:");
-        log.error("║ 1. Review the error message above");
-        log.error("║ 2. Fix the root cause");
-        log.error("║ 3. Manually replay this message if needed");
-        log.error("╚═════════════════════════════════════════════════════════════");
-        
-        // TODO: Store in database for manual review
-        // deadLetterRepository.save(new DeadLetterMessage(event, exceptionMessage, topic, offset));
-        
-        // TODO: Send alert to monitoring system
-        // alertService.sendAlert("DLT Message", event, exceptionMessage);
-        
-        log.warn("⚠️ DLT message logged. Manual intervention may be required.");
-        
-        // NOTE: No manual acknowledgment needed - Spring handles it automatically
+        inFlight.release(maxInFlight);
+        return true;
     }
-}
\ No newline at end of file
+}
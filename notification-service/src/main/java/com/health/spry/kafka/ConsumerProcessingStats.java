@@ -0,0 +1,42 @@
+package com.health.spry.kafka;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-record delivery time of the notification listener, from handing the event to
+ * the pipeline until the delivery completed, collected between two scaling decisions.
+ *
+ * Listener and delivery threads only touch two LongAdders; the scaler drains them once per
+ * interval and keeps the last average when no record was processed.
+ */
+@Component
+public class ConsumerProcessingStats {
+
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder records = new LongAdder();
+    private volatile double lastAverageMillis;
+
+    public void record(long nanos) {
+        totalNanos.add(nanos);
+        records.increment();
+    }
+
+    /**
+     * Returns the average processing time since the previous call and starts a new window.
+     */
+    public double drainAverageMillis() {
+        long count = records.sumThenReset();
+        long nanos = totalNanos.sumThenReset();
+        if (count > 0) {
+            lastAverageMillis = (double) nanos / count / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+        return lastAverageMillis;
+    }
+
+    public double lastAverageMillis() {
+        return lastAverageMillis;
+    }
+}
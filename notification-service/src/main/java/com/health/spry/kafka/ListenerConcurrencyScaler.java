@@ -0,0 +1,213 @@
+package com.health.spry.kafka;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.health.spry.config.NotificationPipelineProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adjusts the number of consumer threads of the main notification listener.
+ *
+ * Every interval it reads the group's lag on the notification topic and the
+ * average processing time per record, and sizes the listener so the current
+ * backlog drains within target-drain-ms. Concurrency never exceeds the topic's
+ * partition count, since extra consumers in the group would sit idle.
+ * Scaling up happens as soon as it is needed; scaling down waits for
+ * scale-down-after consecutive intervals so a short quiet spell does not cause
+ * a rebalance. Changing concurrency restarts the container: the listener is paused
+ * first and the restart waits until the deliveries already handed to the pipeline
+ * have been acknowledged, so they are committed rather than consumed again.
+ *
+ * Listener threads do not wait for deliveries: parallel deliveries are capped by
+ * kafka.listener.max-in-flight across all threads, not by the thread count. The
+ * estimate lag * average delivery time / target-drain-ms therefore assumes one
+ * delivery per thread and is an upper bound while deliveries overlap. Once
+ * max-in-flight deliveries are outstanding, extra threads only wait on that
+ * limit; max-concurrency bounds the result.
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.listener.autoscale.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ListenerConcurrencyScaler implements DisposableBean {
+
+    public static final String LISTENER_ID = "book-notification-listener";
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final ConsumerProcessingStats processingStats;
+    private final BookNotificationConsumer consumer;
+    private final long drainTimeoutMs;
+    private final AdminClient adminClient;
+    private final String topic;
+    private final String groupId;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final long targetDrainMs;
+    private final long cooldownMs;
+    private final int scaleDownAfter;
+    private final long adminTimeoutMs;
+
+    private long lastChangeAt;
+    private int belowTargetIntervals;
+
+    public ListenerConcurrencyScaler(KafkaListenerEndpointRegistry registry,
+                                     KafkaAdmin kafkaAdmin,
+                                     ConsumerProcessingStats processingStats,
+                                     BookNotificationConsumer consumer,
+                                     NotificationPipelineProperties pipelineProperties,
+                                     @Value("${kafka.topic.book-notification}") String topic,
+                                     @Value("${spring.kafka.consumer.group-id}") String groupId,
+                                     @Value("${kafka.listener.autoscale.min-concurrency:1}") int minConcurrency,
+                                     @Value("${kafka.listener.autoscale.max-concurrency:12}") int maxConcurrency,
+                                     @Value("${kafka.listener.autoscale.target-drain-ms:30000}") long targetDrainMs,
+                                     @Value("${kafka.listener.autoscale.cooldown-ms:60000}") long cooldownMs,
+                                     @Value("${kafka.listener.autoscale.scale-down-after:4}") int scaleDownAfter,
+                                     @Value("${kafka.listener.autoscale.admin-timeout-ms:5000}") long adminTimeoutMs) {
+        this.registry = registry;
+        this.processingStats = processingStats;
+        this.consumer = consumer;
+        this.drainTimeoutMs = pipelineProperties.getDeliveryTimeoutMs();
+        this.adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        this.topic = topic;
+        this.groupId = groupId;
+        this.minConcurrency = Math.max(1, minConcurrency);
+        this.maxConcurrency = Math.max(this.minConcurrency, maxConcurrency);
+        this.targetDrainMs = targetDrainMs;
+        this.cooldownMs = cooldownMs;
+        this.scaleDownAfter = scaleDownAfter;
+        this.adminTimeoutMs = adminTimeoutMs;
+    }
+
+    private record LagSnapshot(int partitions, long totalLag) {
+    }
+
+    @Scheduled(initialDelayString = "${kafka.listener.autoscale.interval-ms:15000}",
+               fixedDelayString = "${kafka.listener.autoscale.interval-ms:15000}")
+    public void adjustConcurrency() {
+        MessageListenerContainer listenerContainer = registry.getListenerContainer(LISTENER_ID);
+        if (!(listenerContainer instanceof ConcurrentMessageListenerContainer<?, ?> container)
+                || !container.isRunning()) {
+            return;
+        }
+
+        LagSnapshot snapshot;
+        try {
+            snapshot = readLag();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Could not read consumer lag for group {} on topic {}: {}", groupId, topic, e.getMessage());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        double avgProcessingMs = processingStats.drainAverageMillis();
+        int current = container.getConcurrency();
+        int desired = desiredConcurrency(snapshot, avgProcessingMs, current);
+        log.debug("Listener {}: lag={}, partitions={}, avgProcessingMs={}, concurrency={}, desired={}",
+                LISTENER_ID, snapshot.totalLag(), snapshot.partitions(), avgProcessingMs, current, desired);
+
+        if (desired >= current) {
+            belowTargetIntervals = 0;
+        } else {
+            belowTargetIntervals++;
+        }
+
+        boolean overCeiling = current > Math.min(maxConcurrency, snapshot.partitions());
+        boolean coolingDown = System.currentTimeMillis() - lastChangeAt < cooldownMs;
+        if (desired > current && coolingDown) {
+            return;
+        }
+        if (desired < current && !overCeiling && (coolingDown || belowTargetIntervals < scaleDownAfter)) {
+            return;
+        }
+        if (desired == current) {
+            return;
+        }
+
+        log.info("Changing concurrency of listener {} from {} to {} (lag={}, partitions={}, avgProcessingMs={})",
+                LISTENER_ID, current, desired, snapshot.totalLag(), snapshot.partitions(),
+                String.format("%.1f", avgProcessingMs));
+        container.pause();
+        try {
+            if (!consumer.awaitDeliveries(drainTimeoutMs)) {
+                log.warn("Deliveries still in flight after {} ms, their records will be consumed again", drainTimeoutMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // stop() blocks until every consumer thread has handed off its current records and committed the acks
+        container.stop();
+        container.setConcurrency(desired);
+        container.resume();
+        container.start();
+        lastChangeAt = System.currentTimeMillis();
+        belowTargetIntervals = 0;
+    }
+
+    private int desiredConcurrency(LagSnapshot snapshot, double avgProcessingMs, int current) {
+        int ceiling = Math.max(minConcurrency, Math.min(maxConcurrency, snapshot.partitions()));
+        int needed;
+        if (snapshot.totalLag() == 0) {
+            needed = minConcurrency;
+        } else if (avgProcessingMs <= 0) {
+            // Nothing processed yet, so there is no basis for a change
+            needed = current;
+        } else {
+            needed = (int) Math.ceil(snapshot.totalLag() * avgProcessingMs / targetDrainMs);
+        }
+        return Math.max(minConcurrency, Math.min(ceiling, needed));
+    }
+
+    private LagSnapshot readLag() throws InterruptedException, ExecutionException, TimeoutException {
+        TopicDescription description = adminClient.describeTopics(List.of(topic))
+                .allTopicNames()
+                .get(adminTimeoutMs, TimeUnit.MILLISECONDS)
+                .get(topic);
+
+        Map<TopicPartition, OffsetSpec> latestRequest = new HashMap<>();
+        description.partitions().forEach(partition ->
+                latestRequest.put(new TopicPartition(topic, partition.partition()), OffsetSpec.latest()));
+
+        Map<TopicPartition, ListOffsetsResultInfo> endOffsets = adminClient.listOffsets(latestRequest)
+                .all()
+                .get(adminTimeoutMs, TimeUnit.MILLISECONDS);
+        Map<TopicPartition, OffsetAndMetadata> committed = adminClient.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata()
+                .get(adminTimeoutMs, TimeUnit.MILLISECONDS);
+
+        long totalLag = 0;
+        for (Map.Entry<TopicPartition, ListOffsetsResultInfo> entry : endOffsets.entrySet()) {
+            OffsetAndMetadata position = committed.get(entry.getKey());
+            long consumed = position != null ? position.offset() : 0L;
+            totalLag += Math.max(0L, entry.getValue().offset() - consumed);
+        }
+        return new LagSnapshot(description.partitions().size(), totalLag);
+    }
+
+    @Override
+    public void destroy() {
+        adminClient.close();
+    }
+}
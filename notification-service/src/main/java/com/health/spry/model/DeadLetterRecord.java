@@ -0,0 +1,36 @@
+package com.health.spry.model;
+
+import java.time.Instant;
+
+import com.health.spry.common.event.BookNotificationEvent;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A notification event that exhausted all retries and landed on the dead letter topic.
+ * Instances are replaced, never mutated, once they are in the store.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class DeadLetterRecord {
+    private Long id;
+    private BookNotificationEvent event;
+    /** Topic, partition and offset the event was originally consumed from. */
+    private String sourceTopic;
+    private Integer partition;
+    private Long offset;
+    private String exceptionClass;
+    private String errorMessage;
+    private Instant failedAt;
+    private int replayCount;
+    private Instant lastReplayedAt;
+
+    public boolean isReplayed() {
+        return lastReplayedAt != null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.health.spry.model;
+
+import com.health.spry.common.event.BookNotificationEvent;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An availability event waiting in a user's digest window.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class DigestEntry {
+    private Long id;
+    private BookNotificationEvent event;
+    private String sourceTopic;
+    private Integer partition;
+    private Long offset;
+    /** Epoch millis at which the event was consumed. */
+    private long receivedAt;
+    private boolean flushed;
+}
@@ -0,0 +1,26 @@
+package com.health.spry.model;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An in-app notification. Ids increase with creation time, so they double as the inbox order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class InboxEntry {
+    private Long id;
+    private Long userId;
+    private Long bookId;
+    private String eventType;
+    private String subject;
+    private String body;
+    private Instant createdAt;
+    private boolean read;
+}
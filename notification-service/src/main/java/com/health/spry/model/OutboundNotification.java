@@ -1,18 +1,22 @@
-package com.health.spry.kafka;
+package com.health.spry.model;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * One message for one user on one channel.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class BookNotificationEvent {
-    private Long bookId;
-    private String bookTitle;
+public class OutboundNotification {
+    private String channel;
     private Long userId;
+    private Long bookId;
     private String eventType;
-    private String message;
+    private String subject;
+    private String body;
 }
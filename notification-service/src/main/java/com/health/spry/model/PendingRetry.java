@@ -0,0 +1,39 @@
+package com.health.spry.model;
+
+import java.time.Instant;
+import java.util.Set;
+
+import com.health.spry.common.event.BookNotificationEvent;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A notification that failed and is waiting in the retry timer wheel.
+ * Each state change is persisted as a new version of the same id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class PendingRetry {
+    private Long id;
+    private BookNotificationEvent event;
+    /** Channels still to deliver on; null means all enabled channels. */
+    private Set<String> channels;
+    private String sourceTopic;
+    private Integer partition;
+    private Long offset;
+    /** Dead letter this event was replayed from, if any. */
+    private Long deadLetterId;
+    /** Failed delivery attempts so far, including the first one on the consumer thread. */
+    private int attempt;
+    /** Epoch millis at which the next attempt is due. */
+    private long dueAt;
+    private String exceptionClass;
+    private String lastError;
+    private Instant firstFailedAt;
+    private boolean completed;
+}
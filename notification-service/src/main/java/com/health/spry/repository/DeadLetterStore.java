@@ -0,0 +1,98 @@
+package com.health.spry.repository;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.health.spry.exception.LocalStoreException;
+import com.health.spry.model.DeadLetterRecord;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only, file-backed store for dead letter records.
+ *
+ * Every insert and every state change appends the full record to a
+ * {@link JsonLinesLog}. All records are also kept in memory, keyed by id, to
+ * serve listings.
+ */
+@Repository
+@Slf4j
+public class DeadLetterStore {
+
+    private final JsonLinesLog<DeadLetterRecord> storeLog;
+    private final NavigableMap<Long, DeadLetterRecord> records = new ConcurrentSkipListMap<>();
+    private long nextId = 1;
+
+    public DeadLetterStore(ObjectMapper objectMapper,
+                           @Value("${notification.dead-letter.store-path:./data/dead-letters.log}") String path,
+                           @Value("${notification.dead-letter.fsync:true}") boolean fsync) {
+        this.storeLog = new JsonLinesLog<>(Path.of(path), fsync, objectMapper, DeadLetterRecord.class);
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        records.putAll(storeLog.open(DeadLetterRecord::getId, record -> true));
+        if (!records.isEmpty()) {
+            nextId = records.lastKey() + 1;
+        }
+        log.info("Dead letter store {} opened with {} records", storeLog.path(), records.size());
+    }
+
+    /**
+     * Stores a new record, assigning its id.
+     */
+    public synchronized DeadLetterRecord append(DeadLetterRecord record) {
+        DeadLetterRecord stored = record.toBuilder().id(nextId).build();
+        write(stored);
+        nextId++;
+        return stored;
+    }
+
+    /**
+     * Replaces an existing record with a new version.
+     */
+    public synchronized DeadLetterRecord update(DeadLetterRecord record) {
+        write(record);
+        return record;
+    }
+
+    public Optional<DeadLetterRecord> findById(Long id) {
+        return Optional.ofNullable(records.get(id));
+    }
+
+    /**
+     * Matching records, newest first.
+     */
+    public List<DeadLetterRecord> find(Predicate<DeadLetterRecord> predicate) {
+        return records.descendingMap().values().stream().filter(predicate).toList();
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        storeLog.close();
+    }
+
+    private void write(DeadLetterRecord record) {
+        try {
+            storeLog.append(record);
+        } catch (IOException e) {
+            throw new LocalStoreException("Could not write dead letter record " + record.getId(), e);
+        }
+        records.put(record.getId(), record);
+    }
+}
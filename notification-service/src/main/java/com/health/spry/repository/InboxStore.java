@@ -0,0 +1,216 @@
+package com.health.spry.repository;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.health.spry.exception.LocalStoreException;
+import com.health.spry.model.InboxEntry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-user in-app inboxes.
+ *
+ * Each user's entries sit in a skip list keyed by entry id, which increases
+ * with creation time, so a page is a head-map walk from the cursor. Unread
+ * counts are kept in an in-memory counter per user and adjusted on every
+ * insert, read and expiry, so serving them never scans an inbox.
+ * Entries are persisted to a {@link JsonLinesLog}; entries older than ttl,
+ * or beyond max-per-user for one user, are dropped by the periodic compaction.
+ * Compaction only holds the store lock to take its snapshot and to swap the
+ * rewritten file in; entries written while the file is being rewritten are
+ * collected and appended to it before the swap.
+ */
+@Repository
+@Slf4j
+public class InboxStore {
+
+    private final JsonLinesLog<InboxEntry> storeLog;
+    private final Duration ttl;
+    private final int maxPerUser;
+
+    private final Map<Long, NavigableMap<Long, InboxEntry>> inboxes = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> unreadCounts = new ConcurrentHashMap<>();
+    private long nextId = 1;
+    /** Entries written since the running compaction took its snapshot; null when none is running. */
+    private List<InboxEntry> writesDuringCompaction;
+
+    public InboxStore(ObjectMapper objectMapper,
+                      @Value("${notification.inbox.store-path:./data/inbox.log}") String path,
+                      @Value("${notification.inbox.fsync:true}") boolean fsync,
+                      @Value("${notification.inbox.ttl:30d}") Duration ttl,
+                      @Value("${notification.inbox.max-per-user:500}") int maxPerUser) {
+        this.storeLog = new JsonLinesLog<>(Path.of(path), fsync, objectMapper, InboxEntry.class);
+        this.ttl = ttl;
+        this.maxPerUser = maxPerUser;
+    }
+
+    @PostConstruct
+    synchronized void open() throws IOException {
+        Instant cutoff = Instant.now().minus(ttl);
+        Map<Long, InboxEntry> entries = storeLog.open(InboxEntry::getId, entry -> entry.getCreatedAt().isAfter(cutoff));
+        entries.values().forEach(this::index);
+        entries.keySet().stream().max(Comparator.naturalOrder()).ifPresent(maxId -> nextId = maxId + 1);
+        inboxes.keySet().forEach(this::trim);
+        log.info("Inbox store {} opened with {} entries for {} users", storeLog.path(), entries.size(), inboxes.size());
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        storeLog.close();
+    }
+
+    /**
+     * Adds new unread entries, assigning ids, with one write to the log.
+     */
+    public synchronized List<InboxEntry> addAll(Collection<InboxEntry> newEntries) {
+        Instant now = Instant.now();
+        List<InboxEntry> stored = new ArrayList<>(newEntries.size());
+        for (InboxEntry entry : newEntries) {
+            stored.add(entry.toBuilder().id(nextId++).createdAt(now).read(false).build());
+        }
+        write(stored);
+        stored.forEach(this::index);
+        stored.stream().map(InboxEntry::getUserId).distinct().forEach(this::trim);
+        return stored;
+    }
+
+    /**
+     * Newest entries first, strictly older than the before cursor when one is given.
+     */
+    public List<InboxEntry> page(Long userId, Long before, int size) {
+        NavigableMap<Long, InboxEntry> inbox = inboxes.get(userId);
+        if (inbox == null) {
+            return List.of();
+        }
+        NavigableMap<Long, InboxEntry> older = before != null ? inbox.headMap(before, false) : inbox;
+        return older.descendingMap().values().stream().limit(size).toList();
+    }
+
+    public int unreadCount(Long userId) {
+        AtomicInteger count = unreadCounts.get(userId);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Marks the given entries (all entries when ids is null or empty) as read.
+     *
+     * @return number of entries that changed from unread to read
+     */
+    public synchronized int markRead(Long userId, Collection<Long> ids) {
+        NavigableMap<Long, InboxEntry> inbox = inboxes.get(userId);
+        if (inbox == null) {
+            return 0;
+        }
+        Collection<InboxEntry> candidates = ids == null || ids.isEmpty()
+                ? inbox.values()
+                : ids.stream().map(inbox::get).filter(entry -> entry != null).toList();
+        List<InboxEntry> changed = candidates.stream()
+                .filter(entry -> !entry.isRead())
+                .map(entry -> entry.toBuilder().read(true).build())
+                .toList();
+        if (changed.isEmpty()) {
+            return 0;
+        }
+        write(changed);
+        changed.forEach(entry -> inbox.put(entry.getId(), entry));
+        unreadCounter(userId).addAndGet(-changed.size());
+        return changed.size();
+    }
+
+    /**
+     * Drops expired entries and rewrites the log with what is left.
+     */
+    @Scheduled(initialDelayString = "${notification.inbox.compaction-interval-ms:3600000}",
+               fixedDelayString = "${notification.inbox.compaction-interval-ms:3600000}")
+    public void compact() {
+        Instant cutoff = Instant.now().minus(ttl);
+        int expired = 0;
+        Map<Long, InboxEntry> live = new LinkedHashMap<>();
+        synchronized (this) {
+            for (Map.Entry<Long, NavigableMap<Long, InboxEntry>> inbox : inboxes.entrySet()) {
+                for (InboxEntry entry : new ArrayList<>(inbox.getValue().values())) {
+                    if (entry.getCreatedAt().isBefore(cutoff)) {
+                        remove(entry);
+                        expired++;
+                    } else {
+                        live.put(entry.getId(), entry);
+                    }
+                }
+            }
+            inboxes.values().removeIf(Map::isEmpty);
+            unreadCounts.keySet().retainAll(inboxes.keySet());
+            writesDuringCompaction = new ArrayList<>();
+        }
+        try {
+            storeLog.prepareRewrite(live);
+            synchronized (this) {
+                storeLog.commitRewrite(writesDuringCompaction);
+            }
+        } catch (IOException e) {
+            log.error("Could not compact inbox store {}", storeLog.path(), e);
+            return;
+        } finally {
+            synchronized (this) {
+                writesDuringCompaction = null;
+            }
+        }
+        log.info("Inbox compaction removed {} expired entries, {} entries left", expired, live.size());
+    }
+
+    private void index(InboxEntry entry) {
+        inboxes.computeIfAbsent(entry.getUserId(), userId -> new ConcurrentSkipListMap<>()).put(entry.getId(), entry);
+        if (!entry.isRead()) {
+            unreadCounter(entry.getUserId()).incrementAndGet();
+        }
+    }
+
+    private void trim(Long userId) {
+        NavigableMap<Long, InboxEntry> inbox = inboxes.get(userId);
+        while (inbox != null && inbox.size() > maxPerUser) {
+            remove(inbox.firstEntry().getValue());
+        }
+    }
+
+    private void remove(InboxEntry entry) {
+        NavigableMap<Long, InboxEntry> inbox = inboxes.get(entry.getUserId());
+        if (inbox != null && inbox.remove(entry.getId()) != null && !entry.isRead()) {
+            unreadCounter(entry.getUserId()).decrementAndGet();
+        }
+    }
+
+    private AtomicInteger unreadCounter(Long userId) {
+        return unreadCounts.computeIfAbsent(userId, id -> new AtomicInteger());
+    }
+
+    /** Caller holds the monitor. */
+    private void write(Collection<InboxEntry> entries) {
+        try {
+            storeLog.appendAll(entries);
+            if (writesDuringCompaction != null) {
+                writesDuringCompaction.addAll(entries);
+            }
+        } catch (IOException e) {
+            throw new LocalStoreException("Could not write inbox entries to " + storeLog.path(), e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.health.spry.repository;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of JSON documents, one per line, used by the local stores.
+ *
+ * Every write appends the full document; on load the last line for an id wins
+ * and documents rejected by the keep predicate are dropped. The file is
+ * rewritten at load time when it holds superseded, dropped or unreadable lines
+ * (a torn last line after a crash); owners can also {@link #rewrite} it while
+ * running.
+ */
+@Slf4j
+public class JsonLinesLog<T> implements Closeable {
+
+    private final Path path;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper;
+    private final Class<T> type;
+    private FileChannel channel;
+
+    public JsonLinesLog(Path path, boolean fsync, ObjectMapper objectMapper, Class<T> type) {
+        this.path = path;
+        this.fsync = fsync;
+        this.objectMapper = objectMapper.copy().disable(SerializationFeature.INDENT_OUTPUT);
+        this.type = type;
+    }
+
+    /**
+     * Reads the current version of every document, compacts the file if needed and opens it for appends.
+     */
+    public synchronized Map<Long, T> open(Function<T, Long> idOf, Predicate<T> keep) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Map<Long, T> documents = new LinkedHashMap<>();
+        long lines = 0;
+        if (Files.exists(path)) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    lines++;
+                    try {
+                        T document = objectMapper.readValue(line, type);
+                        documents.put(idOf.apply(document), document);
+                    } catch (JsonProcessingException e) {
+                        log.warn("Skipping unreadable line {} in {}", lines, path);
+                    }
+                }
+            }
+        }
+        documents.values().removeIf(keep.negate());
+
+        if (lines > documents.size() || !endsWithNewline()) {
+            compact(documents);
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return documents;
+    }
+
+    public synchronized void append(T document) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((objectMapper.writeValueAsString(document) + "\n").getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Appends several documents with a single flush to disk.
+     */
+    public synchronized void appendAll(Collection<T> documents) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (T document : documents) {
+            lines.append(objectMapper.writeValueAsString(document)).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Replaces the file contents with the given live documents while the log is open.
+     */
+    public synchronized void rewrite(Map<Long, T> documents) throws IOException {
+        channel.close();
+        compact(documents);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * First half of a rewrite that does not hold up appends: writes the live documents
+     * to a side file. Documents appended from now on must be passed to
+     * {@link #commitRewrite}, which adds them and swaps the side file in.
+     */
+    public void prepareRewrite(Map<Long, T> documents) throws IOException {
+        writeCompacted(documents.values());
+    }
+
+    public synchronized void commitRewrite(Collection<T> appendedSince) throws IOException {
+        Path tmp = compactedPath();
+        try (var writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8, StandardOpenOption.APPEND)) {
+            for (T document : appendedSince) {
+                writer.write(objectMapper.writeValueAsString(document));
+                writer.newLine();
+            }
+        }
+        channel.close();
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private boolean endsWithNewline() throws IOException {
+        if (!Files.exists(path) || Files.size(path) == 0) {
+            return true;
+        }
+        try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            reader.read(last, reader.size() - 1);
+            return last.get(0) == '\n';
+        }
+    }
+
+    private void compact(Map<Long, T> documents) throws IOException {
+        writeCompacted(documents.values());
+        Files.move(compactedPath(), path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Compacted {} to {} entries", path, documents.size());
+    }
+
+    private void writeCompacted(Collection<T> documents) throws IOException {
+        try (var writer = Files.newBufferedWriter(compactedPath(), StandardCharsets.UTF_8)) {
+            for (T document : documents) {
+                writer.write(objectMapper.writeValueAsString(document));
+                writer.newLine();
+            }
+        }
+    }
+
+    private Path compactedPath() {
+        return path.resolveSibling(path.getFileName() + ".compact");
+    }
+}
@@ -0,0 +1,329 @@
+package com.health.spry.retry;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.health.spry.common.event.BookNotificationEvent;
+import com.health.spry.exception.ChannelDeliveryException;
+import com.health.spry.model.PendingRetry;
+import com.health.spry.repository.JsonLinesLog;
+import com.health.spry.service.DeadLetterService;
+import com.health.spry.service.NotificationService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Retries failed notifications off the consumer thread.
+ *
+ * A failed event is appended to a local retry log and parked in a
+ * {@link TimerWheel}; the consumer then commits the offset and moves on, so a
+ * flaky recipient no longer holds up the rest of its partition the way paused
+ * retry-topic consumers did. A ticker thread advances the wheel and hands due
+ * retries to a small worker pool. Each attempt outcome is written back to the
+ * log, so pending retries survive a restart. Workers only hand the event to the
+ * pipeline; the outcome is recorded when the delivery completes, so a slow channel
+ * does not tie up a worker. After max-attempts failures the event goes to the
+ * dead letter store.
+ *
+ * Backoff for the n-th failure is initial-delay * multiplier^(n-1), capped at max-delay.
+ */
+@Component
+@Slf4j
+public class NotificationRetryScheduler {
+
+    private static final String METRIC_PREFIX = "lms.notification.retry";
+
+    private final NotificationService notificationService;
+    private final DeadLetterService deadLetterService;
+    private final JsonLinesLog<PendingRetry> retryLog;
+    private final int maxAttempts;
+    private final long initialDelayMs;
+    private final double multiplier;
+    private final long maxDelayMs;
+    private final long tickMs;
+    private final int wheelSize;
+    private final int workerThreads;
+    private final int workerQueueCapacity;
+
+    private final Map<Long, PendingRetry> pending = new ConcurrentHashMap<>();
+    private final Object logLock = new Object();
+    private long nextId = 1;
+    private long appendsSinceCompaction;
+
+    private TimerWheel<PendingRetry> wheel;
+    private ScheduledExecutorService ticker;
+    private ThreadPoolExecutor workers;
+
+    private final Counter scheduledCounter;
+    private final Counter succeededCounter;
+    private final Counter rescheduledCounter;
+    private final Counter exhaustedCounter;
+    private final Timer dispatchDelay;
+
+    public NotificationRetryScheduler(NotificationService notificationService,
+                                      DeadLetterService deadLetterService,
+                                      ObjectMapper objectMapper,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${notification.retry.log-path:./data/retries.log}") String logPath,
+                                      @Value("${notification.retry.fsync:true}") boolean fsync,
+                                      @Value("${notification.retry.max-attempts:4}") int maxAttempts,
+                                      @Value("${notification.retry.initial-delay-ms:2000}") long initialDelayMs,
+                                      @Value("${notification.retry.multiplier:2.0}") double multiplier,
+                                      @Value("${notification.retry.max-delay-ms:10000}") long maxDelayMs,
+                                      @Value("${notification.retry.tick-ms:100}") long tickMs,
+                                      @Value("${notification.retry.wheel-size:512}") int wheelSize,
+                                      @Value("${notification.retry.worker-threads:4}") int workerThreads,
+                                      @Value("${notification.retry.worker-queue-capacity:1000}") int workerQueueCapacity) {
+        this.notificationService = notificationService;
+        this.deadLetterService = deadLetterService;
+        this.retryLog = new JsonLinesLog<>(Path.of(logPath), fsync, objectMapper, PendingRetry.class);
+        this.maxAttempts = maxAttempts;
+        this.initialDelayMs = initialDelayMs;
+        this.multiplier = multiplier;
+        this.maxDelayMs = maxDelayMs;
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.workerThreads = workerThreads;
+        this.workerQueueCapacity = workerQueueCapacity;
+
+        this.scheduledCounter = Counter.builder(METRIC_PREFIX + ".scheduled")
+                .description("Failed notifications handed to the retry scheduler")
+                .register(meterRegistry);
+        this.succeededCounter = attemptCounter(meterRegistry, "success");
+        this.rescheduledCounter = attemptCounter(meterRegistry, "rescheduled");
+        this.exhaustedCounter = attemptCounter(meterRegistry, "exhausted");
+        this.dispatchDelay = Timer.builder(METRIC_PREFIX + ".dispatch.delay")
+                .description("Time between a retry becoming due and a worker starting it")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".pending", pending, Map::size)
+                .description("Notifications waiting for their next retry attempt")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        Map<Long, PendingRetry> restored = retryLog.open(PendingRetry::getId, retry -> !retry.isCompleted());
+        long now = System.currentTimeMillis();
+        wheel = new TimerWheel<>(tickMs, wheelSize, now);
+        restored.values().forEach(retry -> {
+            pending.put(retry.getId(), retry);
+            wheel.schedule(retry, retry.getDueAt());
+            nextId = Math.max(nextId, retry.getId() + 1);
+        });
+
+        workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerQueueCapacity), namedThreads("notification-retry-worker"));
+        ticker = Executors.newSingleThreadScheduledExecutor(namedThreads("notification-retry-ticker"));
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        log.info("Notification retry scheduler started with {} pending retries from {}", restored.size(), retryLog.path());
+    }
+
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        ticker.shutdownNow();
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        retryLog.close();
+    }
+
+    /**
+     * Records the first failed attempt and schedules the next one. deadLetterId is set when the
+     * event was replayed from the dead letter store.
+     * Throws if the retry cannot be persisted, so the caller can keep the record uncommitted.
+     */
+    public void scheduleRetry(BookNotificationEvent event, String topic, int partition, long offset, Long deadLetterId,
+                              Exception failure) {
+        PendingRetry retry;
+        synchronized (logLock) {
+            retry = PendingRetry.builder()
+                    .id(nextId++)
+                    .event(event)
+                    .channels(failedChannels(failure, null))
+                    .sourceTopic(topic)
+                    .partition(partition)
+                    .offset(offset)
+                    .deadLetterId(deadLetterId)
+                    .attempt(1)
+                    .dueAt(System.currentTimeMillis() + backoff(1))
+                    .exceptionClass(failure.getClass().getName())
+                    .lastError(failure.getMessage())
+                    .firstFailedAt(Instant.now())
+                    .build();
+        }
+        scheduledCounter.increment();
+        if (maxAttempts <= 1) {
+            exhaust(retry);
+            return;
+        }
+        persist(retry);
+        wheel.schedule(retry, retry.getDueAt());
+        log.info("Scheduled retry {} for user {} in {} ms", retry.getId(), event.getUserId(), backoff(1));
+    }
+
+    private void tick() {
+        try {
+            for (PendingRetry retry : wheel.advance(System.currentTimeMillis())) {
+                try {
+                    workers.execute(() -> attempt(retry));
+                } catch (RejectedExecutionException e) {
+                    // Workers are saturated; try again on the next tick instead of blocking the wheel
+                    wheel.schedule(retry, System.currentTimeMillis() + tickMs);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Notification retry tick failed", e);
+        }
+    }
+
+    private void attempt(PendingRetry retry) {
+        dispatchDelay.record(Math.max(0, System.currentTimeMillis() - retry.getDueAt()), TimeUnit.MILLISECONDS);
+        notificationService.deliver(retry.getEvent(), retry.getChannels()).whenComplete((ignored, failure) -> {
+            try {
+                if (failure == null) {
+                    succeeded(retry);
+                } else {
+                    failed(retry, NotificationService.failureOf(failure));
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not record the outcome of retry {}", retry.getId(), e);
+            }
+        });
+    }
+
+    private void succeeded(PendingRetry retry) {
+        complete(retry);
+        succeededCounter.increment();
+        log.info("Retry {} for user {} succeeded on attempt {}", retry.getId(), retry.getEvent().getUserId(), retry.getAttempt() + 1);
+    }
+
+    private void failed(PendingRetry retry, Exception e) {
+        int failed = retry.getAttempt() + 1;
+        PendingRetry next = retry.toBuilder()
+                .attempt(failed)
+                .channels(failedChannels(e, retry.getChannels()))
+                .exceptionClass(e.getClass().getName())
+                .lastError(e.getMessage())
+                .build();
+        if (failed >= maxAttempts) {
+            exhaust(next);
+            return;
+        }
+        next.setDueAt(System.currentTimeMillis() + backoff(failed));
+        try {
+            persist(next);
+        } catch (IllegalStateException persistFailure) {
+            log.error("Could not persist retry {}; keeping it in memory only", retry.getId(), persistFailure);
+        }
+        wheel.schedule(next, next.getDueAt());
+        rescheduledCounter.increment();
+        log.warn("Retry {} for user {} failed (attempt {} of {}), next attempt in {} ms: {}",
+                retry.getId(), retry.getEvent().getUserId(), failed, maxAttempts, backoff(failed), e.getMessage());
+    }
+
+    private void exhaust(PendingRetry retry) {
+        log.error("Notification for user {} failed {} times, moving it to the dead letter store",
+                retry.getEvent().getUserId(), retry.getAttempt());
+        try {
+            deadLetterService.record(retry.getEvent(), retry.getSourceTopic(), retry.getPartition(), retry.getOffset(),
+                    retry.getExceptionClass(), retry.getLastError(), retry.getDeadLetterId());
+        } catch (RuntimeException e) {
+            // Keep the retry until the dead letter is written; the next attempt either delivers it or exhausts again
+            retry.setDueAt(System.currentTimeMillis() + maxDelayMs);
+            log.error("Could not write retry {} to the dead letter store, next attempt in {} ms",
+                    retry.getId(), maxDelayMs, e);
+            try {
+                persist(retry);
+            } catch (IllegalStateException persistFailure) {
+                log.error("Could not persist retry {}; keeping it in memory only", retry.getId(), persistFailure);
+            }
+            wheel.schedule(retry, retry.getDueAt());
+            return;
+        }
+        complete(retry);
+        exhaustedCounter.increment();
+    }
+
+    private void complete(PendingRetry retry) {
+        if (!pending.containsKey(retry.getId())) {
+            return;
+        }
+        try {
+            persist(retry.toBuilder().completed(true).build());
+        } catch (IllegalStateException e) {
+            // Worst case the retry runs once more after a restart
+            log.warn("Could not mark retry {} as completed", retry.getId(), e);
+        }
+    }
+
+    private void persist(PendingRetry retry) {
+        synchronized (logLock) {
+            try {
+                retryLog.append(retry);
+                if (retry.isCompleted()) {
+                    pending.remove(retry.getId());
+                } else {
+                    pending.put(retry.getId(), retry);
+                }
+                if (++appendsSinceCompaction > Math.max(1000, 2L * pending.size())) {
+                    retryLog.rewrite(new HashMap<>(pending));
+                    appendsSinceCompaction = 0;
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not write retry " + retry.getId() + " to " + retryLog.path(), e);
+            }
+        }
+    }
+
+    /**
+     * Only channels that failed are retried, so users are not notified twice on the others.
+     */
+    private static Set<String> failedChannels(Exception failure, Set<String> previous) {
+        return failure instanceof ChannelDeliveryException delivery ? delivery.getFailedChannels() : previous;
+    }
+
+    private long backoff(int failedAttempts) {
+        double delay = initialDelayMs * Math.pow(multiplier, failedAttempts - 1);
+        return (long) Math.min(delay, maxDelayMs);
+    }
+
+    private Counter attemptCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(METRIC_PREFIX + ".attempts")
+                .description("Retry attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
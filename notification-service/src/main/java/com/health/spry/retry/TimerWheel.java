@@ -0,0 +1,73 @@
+package com.health.spry.retry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hashed timer wheel: a ring of buckets, each covering one tick.
+ *
+ * An item due at time t goes into bucket (t / tick) mod size, so scheduling is
+ * O(1) regardless of how many items are waiting. Advancing the wheel visits
+ * one bucket per elapsed tick and releases the items whose due tick has been
+ * reached; items due more than one revolution ahead simply stay in their
+ * bucket until a later pass. Overdue items are released on the next tick.
+ */
+public class TimerWheel<T> {
+
+    private record Entry<T>(T item, long dueTick) {
+    }
+
+    private final long tickMillis;
+    private final int mask;
+    private final ArrayDeque<Entry<T>>[] buckets;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        int buckets = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = buckets - 1;
+        this.buckets = new ArrayDeque[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new ArrayDeque<>();
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public synchronized void schedule(T item, long dueAtMillis) {
+        long dueTick = Math.max(dueAtMillis / tickMillis, currentTick);
+        buckets[(int) (dueTick & mask)].add(new Entry<>(item, dueTick));
+        size++;
+    }
+
+    /**
+     * Moves the wheel up to nowMillis and returns every item that became due, in tick order.
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        while (currentTick <= nowTick) {
+            Iterator<Entry<T>> bucket = buckets[(int) (currentTick & mask)].iterator();
+            while (bucket.hasNext()) {
+                Entry<T> entry = bucket.next();
+                if (entry.dueTick() <= currentTick) {
+                    bucket.remove();
+                    expired.add(entry.item());
+                    size--;
+                }
+            }
+            currentTick++;
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
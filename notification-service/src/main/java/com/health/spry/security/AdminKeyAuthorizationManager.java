@@ -0,0 +1,37 @@
+package com.health.spry.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Grants the dead letter admin endpoints to requests that send the configured
+ * admin key in the {@value #HEADER} header. With no key configured the admin
+ * endpoints are closed.
+ */
+@Component
+public class AdminKeyAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    public static final String HEADER = "X-Admin-Key";
+
+    private final byte[] adminKey;
+
+    public AdminKeyAuthorizationManager(@Value("${notification.admin.api-key:}") String adminKey) {
+        this.adminKey = adminKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        String presented = context.getRequest().getHeader(HEADER);
+        return new AuthorizationDecision(adminKey.length > 0 && presented != null
+                && MessageDigest.isEqual(adminKey, presented.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,31 @@
+package com.health.spry.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.health.spry.common.security.JwtKeyRing;
+import com.health.spry.common.security.JwtTokenCodec;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Verifies access tokens issued by login-service, with the same key ring as book-service.
+ */
+@Component
+public class JwtUtil {
+
+    private final JwtTokenCodec tokenCodec;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.key-id:primary}") String keyId,
+                   @Value("${jwt.retired-keys:}") String retiredKeys) {
+        this.tokenCodec = new JwtTokenCodec(JwtKeyRing.fromProperties(keyId, secret, retiredKeys));
+    }
+
+    /**
+     * Verifies the token (signature and expiry) and returns all of its claims in one parse.
+     */
+    public Claims parseClaims(String token) {
+        return tokenCodec.parse(token);
+    }
+}
@@ -0,0 +1,271 @@
+package com.health.spry.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import com.health.spry.common.event.BookNotificationEvent;
+import com.health.spry.dto.DeadLetterFilter;
+import com.health.spry.dto.DeadLetterReplayRequest;
+import com.health.spry.dto.DeadLetterReplayResponse;
+import com.health.spry.dto.PagedResponse;
+import com.health.spry.exception.ReplayInProgressException;
+import com.health.spry.model.DeadLetterRecord;
+import com.health.spry.repository.DeadLetterStore;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps dead-lettered notification events and replays them to the main topic.
+ *
+ * Replays are sent in batches of replay.batch-size; each batch is acknowledged
+ * by the broker before the next one starts, and the pace is held at
+ * replay.max-per-second so a large replay does not flood the consumers that
+ * just recovered. A replay runs as a background job, so the request returns
+ * before the broker has seen a single record; only one replay runs at a time
+ * and the last max-jobs jobs can be looked up by id.
+ *
+ * Replayed records carry their dead letter id in {@link #REPLAY_HEADER}.
+ */
+@Service
+@Slf4j
+public class DeadLetterService {
+
+    public static final String REPLAY_HEADER = "lms-dead-letter-id";
+
+    private final DeadLetterStore deadLetterStore;
+    private final KafkaTemplate<String, BookNotificationEvent> kafkaTemplate;
+    private final String topic;
+    private final int batchSize;
+    private final int maxPerSecond;
+    private final int maxPerRequest;
+    private final long sendTimeoutMs;
+    private final AtomicBoolean replayRunning = new AtomicBoolean();
+    private final Map<String, DeadLetterReplayResponse> jobs;
+    private final ExecutorService replayExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dead-letter-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DeadLetterService(DeadLetterStore deadLetterStore,
+                             KafkaTemplate<String, BookNotificationEvent> kafkaTemplate,
+                             @Value("${kafka.topic.book-notification}") String topic,
+                             @Value("${notification.dead-letter.replay.batch-size:50}") int batchSize,
+                             @Value("${notification.dead-letter.replay.max-per-second:20}") int maxPerSecond,
+                             @Value("${notification.dead-letter.replay.max-per-request:1000}") int maxPerRequest,
+                             @Value("${notification.dead-letter.replay.send-timeout-ms:10000}") long sendTimeoutMs,
+                             @Value("${notification.dead-letter.replay.max-jobs:20}") int maxJobs) {
+        this.deadLetterStore = deadLetterStore;
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxPerSecond = Math.max(1, maxPerSecond);
+        this.maxPerRequest = Math.max(1, maxPerRequest);
+        this.sendTimeoutMs = sendTimeoutMs;
+        int retainedJobs = Math.max(1, maxJobs);
+        this.jobs = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DeadLetterReplayResponse> eldest) {
+                return size() > retainedJobs;
+            }
+        };
+    }
+
+    @PreDestroy
+    void stop() {
+        replayExecutor.shutdownNow();
+    }
+
+    /**
+     * Stores a notification that exhausted its retries. A replayed event that fails again
+     * (deadLetterId set from the {@link #REPLAY_HEADER}) updates its original record instead
+     * of adding a new one; the record stays marked as replayed, so the default replay
+     * selection does not pick it up again and loop.
+     */
+    public DeadLetterRecord record(BookNotificationEvent event, String sourceTopic, int partition, long offset,
+                                   String exceptionClass, String errorMessage, Long deadLetterId) {
+        Optional<DeadLetterRecord> original = deadLetterId != null ? deadLetterStore.findById(deadLetterId) : Optional.empty();
+        if (original.isPresent()) {
+            DeadLetterRecord record = deadLetterStore.update(original.get().toBuilder()
+                    .exceptionClass(exceptionClass)
+                    .errorMessage(errorMessage)
+                    .failedAt(Instant.now())
+                    .build());
+            log.info("Replayed dead letter {} for user {} failed again", record.getId(), event.getUserId());
+            return record;
+        }
+        DeadLetterRecord record = deadLetterStore.append(DeadLetterRecord.builder()
+                .event(event)
+                .sourceTopic(sourceTopic)
+                .partition(partition)
+                .offset(offset)
+                .exceptionClass(exceptionClass)
+                .errorMessage(errorMessage)
+                .failedAt(Instant.now())
+                .build());
+        log.info("Stored dead letter {} for user {} and book {}", record.getId(), event.getUserId(), event.getBookId());
+        return record;
+    }
+
+    public PagedResponse<DeadLetterRecord> find(DeadLetterFilter filter, int page, int size) {
+        List<DeadLetterRecord> matches = deadLetterStore.find(filter::matches);
+        int from = Math.min(page * size, matches.size());
+        int to = Math.min(from + size, matches.size());
+        int totalPages = (matches.size() + size - 1) / size;
+
+        return PagedResponse.<DeadLetterRecord>builder()
+                .content(matches.subList(from, to))
+                .pageNumber(page)
+                .pageSize(size)
+                .totalElements(matches.size())
+                .totalPages(totalPages)
+                .first(page == 0)
+                .last(page >= totalPages - 1)
+                .build();
+    }
+
+    /**
+     * Selects the matching records and starts replaying them in the background.
+     *
+     * @return the new job in state RUNNING; poll {@link #getReplayJob} for progress
+     * @throws ReplayInProgressException if another replay is still running
+     */
+    public DeadLetterReplayResponse startReplay(DeadLetterReplayRequest request) {
+        DeadLetterFilter filter = request.getFilter() != null
+                ? request.getFilter()
+                : DeadLetterFilter.builder().replayed(false).build();
+        int limit = request.getLimit() != null ? Math.min(request.getLimit(), maxPerRequest) : maxPerRequest;
+
+        if (!replayRunning.compareAndSet(false, true)) {
+            throw new ReplayInProgressException("Another dead letter replay is already running");
+        }
+        try {
+            // Oldest first, so events are replayed in the order they failed
+            List<DeadLetterRecord> candidates = new ArrayList<>(deadLetterStore.find(filter::matches));
+            Collections.reverse(candidates);
+            List<DeadLetterRecord> selected = List.copyOf(candidates.subList(0, Math.max(0, Math.min(limit, candidates.size()))));
+
+            DeadLetterReplayResponse job = DeadLetterReplayResponse.builder()
+                    .jobId(UUID.randomUUID().toString())
+                    .status(DeadLetterReplayResponse.Status.RUNNING)
+                    .matched(candidates.size())
+                    .selected(selected.size())
+                    .failedIds(List.of())
+                    .startedAt(Instant.now())
+                    .build();
+            saveJob(job);
+            replayExecutor.execute(() -> runReplay(job, selected));
+            log.info("Started dead letter replay {} for {} of {} matching records", job.getJobId(), selected.size(), candidates.size());
+            return job;
+        } catch (RuntimeException e) {
+            replayRunning.set(false);
+            throw e;
+        }
+    }
+
+    public Optional<DeadLetterReplayResponse> getReplayJob(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId));
+        }
+    }
+
+    private void runReplay(DeadLetterReplayResponse job, List<DeadLetterRecord> selected) {
+        long started = System.currentTimeMillis();
+        long nanosPerRecord = TimeUnit.SECONDS.toNanos(1) / maxPerSecond;
+        List<Long> failedIds = new ArrayList<>();
+        int replayed = 0;
+        DeadLetterReplayResponse.Status status = DeadLetterReplayResponse.Status.COMPLETED;
+        String error = null;
+
+        try {
+            for (int i = 0; i < selected.size(); i += batchSize) {
+                List<DeadLetterRecord> batch = selected.subList(i, Math.min(i + batchSize, selected.size()));
+                long batchStart = System.nanoTime();
+
+                replayed += sendBatch(batch, failedIds);
+                saveJob(progress(job, replayed, failedIds, started).build());
+
+                long remaining = batch.size() * nanosPerRecord - (System.nanoTime() - batchStart);
+                if (remaining > 0 && i + batchSize < selected.size()) {
+                    TimeUnit.NANOSECONDS.sleep(remaining);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = DeadLetterReplayResponse.Status.FAILED;
+            error = "Replay was interrupted by shutdown";
+        } catch (RuntimeException e) {
+            log.error("Dead letter replay {} failed", job.getJobId(), e);
+            status = DeadLetterReplayResponse.Status.FAILED;
+            error = e.getMessage();
+        } finally {
+            saveJob(progress(job, replayed, failedIds, started).status(status).error(error).build());
+            replayRunning.set(false);
+        }
+        log.info("Replay {} {}: replayed {} of {} dead letters to {} ({} failed)",
+                job.getJobId(), status, replayed, selected.size(), topic, failedIds.size());
+    }
+
+    private static DeadLetterReplayResponse.DeadLetterReplayResponseBuilder progress(DeadLetterReplayResponse job, int replayed,
+                                                                                    List<Long> failedIds, long started) {
+        return job.toBuilder()
+                .replayed(replayed)
+                .failed(failedIds.size())
+                .failedIds(List.copyOf(failedIds))
+                .durationMs(System.currentTimeMillis() - started);
+    }
+
+    private void saveJob(DeadLetterReplayResponse job) {
+        synchronized (jobs) {
+            jobs.put(job.getJobId(), job);
+        }
+    }
+
+    private int sendBatch(List<DeadLetterRecord> batch, List<Long> failedIds) throws InterruptedException {
+        List<CompletableFuture<SendResult<String, BookNotificationEvent>>> futures = new ArrayList<>(batch.size());
+        for (DeadLetterRecord record : batch) {
+            ProducerRecord<String, BookNotificationEvent> producerRecord =
+                    new ProducerRecord<>(topic, String.valueOf(record.getEvent().getBookId()), record.getEvent());
+            producerRecord.headers().add(REPLAY_HEADER, String.valueOf(record.getId()).getBytes(StandardCharsets.UTF_8));
+            futures.add(kafkaTemplate.send(producerRecord));
+        }
+
+        int sent = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            DeadLetterRecord record = batch.get(i);
+            try {
+                futures.get(i).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                deadLetterStore.update(record.toBuilder()
+                        .replayCount(record.getReplayCount() + 1)
+                        .lastReplayedAt(Instant.now())
+                        .build());
+                sent++;
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                log.warn("Failed to replay dead letter {}: {}", record.getId(), e.getMessage());
+                failedIds.add(record.getId());
+            }
+        }
+        return sent;
+    }
+}
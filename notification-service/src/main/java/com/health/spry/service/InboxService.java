@@ -0,0 +1,57 @@
+package com.health.spry.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.health.spry.dto.InboxPageResponse;
+import com.health.spry.model.InboxEntry;
+import com.health.spry.model.OutboundNotification;
+import com.health.spry.repository.InboxStore;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InboxService {
+
+    private final InboxStore inboxStore;
+
+    public void deliver(List<OutboundNotification> notifications) {
+        List<InboxEntry> entries = notifications.stream()
+                .map(notification -> InboxEntry.builder()
+                        .userId(notification.getUserId())
+                        .bookId(notification.getBookId())
+                        .eventType(notification.getEventType())
+                        .subject(notification.getSubject())
+                        .body(notification.getBody())
+                        .build())
+                .toList();
+        inboxStore.addAll(entries);
+        log.debug("Stored {} in-app notifications", entries.size());
+    }
+
+    public InboxPageResponse getInbox(Long userId, Long before, int size) {
+        // Fetch one extra entry to know whether an older page exists
+        List<InboxEntry> entries = inboxStore.page(userId, before, size + 1);
+        boolean hasMore = entries.size() > size;
+        List<InboxEntry> content = hasMore ? entries.subList(0, size) : entries;
+
+        return InboxPageResponse.builder()
+                .content(content)
+                .unreadCount(inboxStore.unreadCount(userId))
+                .nextCursor(hasMore ? content.get(content.size() - 1).getId() : null)
+                .build();
+    }
+
+    public int getUnreadCount(Long userId) {
+        return inboxStore.unreadCount(userId);
+    }
+
+    public int markRead(Long userId, Collection<Long> ids) {
+        return inboxStore.markRead(userId, ids);
+    }
+}
@@ -1,40 +1,82 @@
 package com.health.spry.service;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import org.springframework.stereotype.Service;
 
-import com.health.spry.kafka.BookNotificationEvent;
+import com.health.spry.channel.NotificationPipeline;
+import com.health.spry.common.event.BookNotificationEvent;
+import com.health.spry.config.NotificationPipelineProperties;
+import com.health.spry.exception.ChannelDeliveryException;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
-    public void processNotification(BookNotificationEvent event) {
-        log.info("==============================================");
-        log.info("NOTIFICATION PREPARED");
-        log.info("==============================================");
-        log.info("Notification prepared for user_id: {}", event.getUserId());
-        log.info("Book [{}] is now available", event.getBookTitle());
-        log.info("Event Type: {}", event.getEventType());
-        log.info("Message: {}", event.getMessage());
-        log.info("==============================================");
-
-        // In a real application, this would:
-        // 1. Send an email to the user
-        // 2. Send a push notification to mobile devices
-        // 3. Create an in-app notification
-        // 4. Store notification in database for later retrieval
-        // 5. Send SMS if configured
-
-        // Simulating some processing time
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        log.info("Notification successfully sent to user: {}", event.getUserId());
-        //throw new RuntimeException("Simulated failure for retry"); //This can be used to simulate the retryable DLQ 
+    private final NotificationPipeline pipeline;
+    private final NotificationPipelineProperties properties;
+
+    /**
+     * Queues the event on the given channels (all enabled channels when null) without waiting
+     * for it. Channels deliver in parallel and in batches.
+     *
+     * @return completes once every channel has sent the notification, or exceptionally with a
+     *         {@link ChannelDeliveryException} naming the channels that failed or did not finish
+     *         within the delivery timeout
+     */
+    public CompletableFuture<Void> deliver(BookNotificationEvent event, Collection<String> channels) {
+        log.info("Notification prepared for user_id: {}, book [{}], event type: {}",
+                event.getUserId(), event.getBookTitle(), event.getEventType());
+
+        Map<String, CompletableFuture<Void>> deliveries = pipeline.dispatch(event, channels);
+        Map<String, String> errors = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] outcomes = deliveries.entrySet().stream()
+                .map(delivery -> delivery.getValue()
+                        .copy()
+                        .orTimeout(properties.getDeliveryTimeoutMs(), TimeUnit.MILLISECONDS)
+                        .whenComplete((ignored, error) -> {
+                            if (error != null) {
+                                errors.put(delivery.getKey(), reason(error));
+                            }
+                        })
+                        .exceptionally(error -> null))
+                .toArray(CompletableFuture<?>[]::new);
+
+        return CompletableFuture.allOf(outcomes).thenRun(() -> {
+            if (!errors.isEmpty()) {
+                Set<String> failed = new LinkedHashSet<>(deliveries.keySet());
+                failed.retainAll(errors.keySet());
+                String first = failed.iterator().next();
+                throw new ChannelDeliveryException(failed, "Delivery failed for user " + event.getUserId()
+                        + " on " + failed + " (" + first + ": " + errors.get(first) + ")");
+            }
+            log.info("Notification successfully sent to user: {} via {}", event.getUserId(), deliveries.keySet());
+        });
+    }
+
+    /**
+     * The exception a failed {@link #deliver} future was completed with, without the
+     * CompletionException wrapper that dependent stages add.
+     */
+    public static Exception failureOf(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof Exception exception ? exception : new CompletionException(cause);
+    }
+
+    private static String reason(Throwable error) {
+        Exception cause = failureOf(error);
+        return cause instanceof TimeoutException ? "timed out" : cause.getMessage();
     }
 }
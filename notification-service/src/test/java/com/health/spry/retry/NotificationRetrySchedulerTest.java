@@ -0,0 +1,174 @@
+package com.health.spry.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.health.spry.common.event.BookNotificationEvent;
+import com.health.spry.exception.ChannelDeliveryException;
+import com.health.spry.service.DeadLetterService;
+import com.health.spry.service.NotificationService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class NotificationRetrySchedulerTest {
+
+    private static final String TOPIC = "book-notification-topic";
+
+    @TempDir
+    Path dataDir;
+
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final DeadLetterService deadLetterService = mock(DeadLetterService.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<NotificationRetryScheduler> started = new ArrayList<>();
+
+    private final BookNotificationEvent event = BookNotificationEvent.builder()
+            .bookId(42L)
+            .userId(7L)
+            .eventType("BOOK_AVAILABLE")
+            .bookTitle("Dune")
+            .message("Dune is available again")
+            .build();
+
+    @AfterEach
+    void stopSchedulers() throws Exception {
+        for (NotificationRetryScheduler scheduler : started) {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    void retriesOnlyTheFailedChannelsAndCompletes() throws Exception {
+        when(notificationService.deliver(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        MeterRegistry registry = new SimpleMeterRegistry();
+        NotificationRetryScheduler scheduler = start(registry, 4, 50);
+
+        scheduler.scheduleRetry(event, TOPIC, 0, 10L, null, emailFailure());
+
+        verify(notificationService, timeout(2_000)).deliver(event, Set.of("EMAIL"));
+        awaitPending(registry, 0);
+        verify(deadLetterService, never()).record(any(), anyString(), anyInt(), anyLong(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void replaysPendingRetriesAfterRestart() throws Exception {
+        when(notificationService.deliver(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        NotificationRetryScheduler first = start(new SimpleMeterRegistry(), 4, 1_000);
+        first.scheduleRetry(event, TOPIC, 0, 10L, null, emailFailure());
+        first.stop();
+        started.remove(first);
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        start(registry, 4, 1_000);
+
+        assertThat(pending(registry)).isEqualTo(1);
+        verify(notificationService, timeout(3_000)).deliver(event, Set.of("EMAIL"));
+        awaitPending(registry, 0);
+
+        // The completed retry is not replayed by the next instance
+        MeterRegistry afterCompletion = new SimpleMeterRegistry();
+        stopAll();
+        start(afterCompletion, 4, 1_000);
+        assertThat(pending(afterCompletion)).isZero();
+    }
+
+    @Test
+    void movesExhaustedRetryToTheDeadLetterStore() throws Exception {
+        when(notificationService.deliver(any(), any())).thenReturn(CompletableFuture.failedFuture(emailFailure()));
+        MeterRegistry registry = new SimpleMeterRegistry();
+        NotificationRetryScheduler scheduler = start(registry, 2, 50);
+
+        scheduler.scheduleRetry(event, TOPIC, 3, 99L, 5L, emailFailure());
+
+        verify(deadLetterService, timeout(2_000)).record(eq(event), eq(TOPIC), eq(3), eq(99L),
+                eq(ChannelDeliveryException.class.getName()), anyString(), eq(5L));
+        awaitPending(registry, 0);
+        verify(notificationService).deliver(event, Set.of("EMAIL"));
+    }
+
+    @Test
+    void keepsExhaustedRetryUntilTheDeadLetterIsWritten() throws Exception {
+        when(notificationService.deliver(any(), any())).thenReturn(CompletableFuture.failedFuture(emailFailure()));
+        doThrow(new IllegalStateException("dead letter store unavailable"))
+                .doReturn(null)
+                .when(deadLetterService).record(any(), anyString(), anyInt(), anyLong(), anyString(), anyString(), isNull());
+        MeterRegistry registry = new SimpleMeterRegistry();
+        NotificationRetryScheduler scheduler = start(registry, 2, 50);
+
+        scheduler.scheduleRetry(event, TOPIC, 0, 10L, null, emailFailure());
+
+        verify(deadLetterService, timeout(3_000).times(2))
+                .record(any(), anyString(), anyInt(), anyLong(), anyString(), anyString(), isNull());
+        awaitPending(registry, 0);
+        verify(notificationService, after(200).times(2)).deliver(event, Set.of("EMAIL"));
+    }
+
+    @Test
+    void keepsExhaustedRetryAcrossRestartWhileTheDeadLetterStoreIsDown() throws Exception {
+        when(notificationService.deliver(any(), any())).thenReturn(CompletableFuture.failedFuture(emailFailure()));
+        doThrow(new IllegalStateException("dead letter store unavailable"))
+                .when(deadLetterService).record(any(), anyString(), anyInt(), anyLong(), anyString(), anyString(), isNull());
+        NotificationRetryScheduler first = start(new SimpleMeterRegistry(), 1, 50);
+
+        first.scheduleRetry(event, TOPIC, 0, 10L, null, emailFailure());
+        stopAll();
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        start(registry, 1, 50);
+        assertThat(pending(registry)).isEqualTo(1);
+    }
+
+    private NotificationRetryScheduler start(MeterRegistry registry, int maxAttempts, long initialDelayMs) throws Exception {
+        NotificationRetryScheduler scheduler = new NotificationRetryScheduler(notificationService, deadLetterService,
+                objectMapper, registry, dataDir.resolve("retries.log").toString(), false,
+                maxAttempts, initialDelayMs, 2.0, 100, 10, 64, 2, 100);
+        scheduler.start();
+        started.add(scheduler);
+        return scheduler;
+    }
+
+    private void stopAll() throws Exception {
+        stopSchedulers();
+        started.clear();
+    }
+
+    private static ChannelDeliveryException emailFailure() {
+        return new ChannelDeliveryException(Set.of("EMAIL"), "EMAIL: connection refused");
+    }
+
+    private static double pending(MeterRegistry registry) {
+        return registry.get("lms.notification.retry.pending").gauge().value();
+    }
+
+    private static void awaitPending(MeterRegistry registry, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3_000;
+        while (pending(registry) != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(pending(registry)).isEqualTo(expected);
+    }
+}
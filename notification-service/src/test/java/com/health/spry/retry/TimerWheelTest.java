@@ -0,0 +1,70 @@
+package com.health.spry.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class TimerWheelTest {
+
+    /** 8 buckets of 100 ms: one revolution is 800 ms. */
+    private final TimerWheel<String> wheel = new TimerWheel<>(100, 8, 0);
+
+    @Test
+    void releasesItemOnceItsTickIsReached() {
+        wheel.schedule("a", 250);
+
+        assertThat(wheel.advance(199)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(200)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+        assertThat(wheel.advance(1_000)).isEmpty();
+    }
+
+    @Test
+    void releasesInTickOrderAcrossBuckets() {
+        wheel.schedule("c", 650);
+        wheel.schedule("a", 120);
+        wheel.schedule("b", 480);
+        wheel.schedule("a2", 199);
+
+        assertThat(wheel.advance(700)).containsExactly("a", "a2", "b", "c");
+    }
+
+    @Test
+    void keepsItemsDueAfterMoreThanOneRevolution() {
+        // Same bucket as tick 4, but three revolutions later
+        wheel.schedule("late", 2_000);
+        wheel.schedule("early", 400);
+
+        assertThat(wheel.advance(500)).containsExactly("early");
+        assertThat(wheel.advance(1_999)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(2_000)).containsExactly("late");
+    }
+
+    @Test
+    void releasesOverdueItemsOnTheNextTick() {
+        wheel.advance(1_000);
+
+        wheel.schedule("overdue", 300);
+
+        assertThat(wheel.advance(1_099)).isEmpty();
+        assertThat(wheel.advance(1_100)).containsExactly("overdue");
+    }
+
+    @Test
+    void catchesUpAfterALongPause() {
+        for (int i = 0; i < 20; i++) {
+            wheel.schedule("item-" + i, i * 150L);
+        }
+
+        assertThat(wheel.advance(10_000)).hasSize(20).startsWith("item-0").endsWith("item-19");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void rejectsNonPositiveTick() {
+        assertThatThrownBy(() -> new TimerWheel<String>(0, 8, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,3 +1,4 @@
+mvn -f lms-common clean install -DskipTests
 mvn -f service-discovery clean install package -DskipTests
 mvn -f api-gateway clean install package -DskipTests
 mvn -f signup-service clean install package -DskipTests
@@ -0,0 +1,109 @@
+package com.health.spry.client;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evicts a username from the user record cache of every login-service instance
+ * registered in Eureka, so a new or changed account is seen on the next login.
+ *
+ * Best effort: calls are made on a background thread after the transaction has
+ * committed, and a failed call is only logged; login-service then serves the
+ * old record until its cache entry expires.
+ */
+@Component
+@Slf4j
+public class LoginUserCacheClient {
+
+    private static final String INTERNAL_KEY_HEADER = "X-Internal-Key";
+
+    private final DiscoveryClient discoveryClient;
+    private final RestClient restClient;
+    private final boolean enabled;
+    private final String loginServiceId;
+    private final String internalKey;
+    private final ThreadPoolExecutor executor;
+
+    public LoginUserCacheClient(DiscoveryClient discoveryClient,
+                                RestClient.Builder restClientBuilder,
+                                @Value("${login-user-cache.invalidation.enabled:true}") boolean enabled,
+                                @Value("${login-user-cache.invalidation.service-id:login-service}") String loginServiceId,
+                                @Value("${internal.api-key:}") String internalKey,
+                                @Value("${login-user-cache.invalidation.timeout-ms:1000}") int timeoutMs,
+                                @Value("${login-user-cache.invalidation.queue-capacity:1000}") int queueCapacity) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(timeoutMs));
+        requestFactory.setReadTimeout(Duration.ofMillis(timeoutMs));
+
+        this.discoveryClient = discoveryClient;
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.enabled = enabled;
+        this.loginServiceId = loginServiceId;
+        this.internalKey = internalKey;
+        if (enabled && internalKey.isBlank()) {
+            log.warn("internal.api-key is not set; login-service will refuse user cache evictions");
+        }
+        // A full queue drops the eviction rather than slowing signup down; the cache ttl covers it
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-user-cache-client");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> log.warn("Login user cache eviction queue full, dropping eviction"));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /** Evicts the username once the current transaction has committed. */
+    public void userChanged(String username) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            executor.execute(() -> evict(username));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executor.execute(() -> evict(username));
+            }
+        });
+    }
+
+    private void evict(String username) {
+        for (ServiceInstance instance : discoveryClient.getInstances(loginServiceId)) {
+            try {
+                restClient.delete()
+                        .uri(instance.getUri() + "/internal/user-cache/{username}", username)
+                        .header(INTERNAL_KEY_HEADER, internalKey)
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (RestClientException e) {
+                log.warn("Could not evict user {} from login-service instance {}: {}",
+                        username, instance.getUri(), e.getMessage());
+            }
+        }
+    }
+}
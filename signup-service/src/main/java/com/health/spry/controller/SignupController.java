@@ -1,5 +1,6 @@
 package com.health.spry.controller;
 
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,6 +9,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.health.spry.dto.AvailabilityRequest;
+import com.health.spry.dto.AvailabilityResponse;
 import com.health.spry.dto.SignupRequest;
 import com.health.spry.dto.SignupResponse;
 import com.health.spry.service.SignupService;
@@ -40,6 +43,8 @@ public class SignupController {
                     content = @Content),
             @ApiResponse(responseCode = "409", description = "user already exists",
             content = @Content),
+            @ApiResponse(responseCode = "503", description = "Too many signups in progress, retry shortly",
+                    content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content)
     })
@@ -49,6 +54,19 @@ public class SignupController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @GetMapping("/availability")
+    @Operation(summary = "Check username and email availability",
+            description = "Tells whether a username and/or email can still be registered. Meant for live checks while the user types")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Availability of the given username and/or email",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AvailabilityResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Neither username nor email given, or invalid input",
+                    content = @Content)
+    })
+    public ResponseEntity<AvailabilityResponse> checkAvailability(@Valid @ParameterObject AvailabilityRequest request) {
+        return ResponseEntity.ok(signupService.checkAvailability(request));
+    }
+
     @GetMapping("/health")
     @Operation(summary = "Health check", description = "Check if the signup service is running")
     @ApiResponses(value = {
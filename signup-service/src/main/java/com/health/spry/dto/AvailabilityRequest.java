@@ -0,0 +1,36 @@
+package com.health.spry.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Username and/or email to check before registering")
+public class AvailabilityRequest {
+
+    @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+    @Schema(description = "Username to check", example = "john_doe")
+    private String username;
+
+    @Email(message = "Email should be valid")
+    @Schema(description = "Email address to check", example = "john.doe@example.com")
+    private String email;
+
+    @Hidden
+    @JsonIgnore
+    @AssertTrue(message = "Username or email is required")
+    public boolean isUsernameOrEmailPresent() {
+        return username != null || email != null;
+    }
+}
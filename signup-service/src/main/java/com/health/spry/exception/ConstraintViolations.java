@@ -0,0 +1,30 @@
+package com.health.spry.exception;
+
+import java.sql.SQLException;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+/**
+ * Helpers for telling unique key violations apart from other integrity violations.
+ */
+public final class ConstraintViolations {
+
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+    private static final String SQL_STATE_UNIQUE_VIOLATION = "23505";
+
+    private ConstraintViolations() {
+    }
+
+    public static boolean isDuplicateKey(DataIntegrityViolationException ex) {
+        if (ex instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql) {
+                return sql.getErrorCode() == MYSQL_DUPLICATE_ENTRY || SQL_STATE_UNIQUE_VIOLATION.equals(sql.getSQLState());
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,7 @@
+package com.health.spry.exception;
+
+public class SignupUnavailableException extends RuntimeException {
+    public SignupUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,180 @@
+package com.health.spry.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.health.spry.repository.UserKeys;
+import com.health.spry.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bloom filters over all taken usernames and emails, answering "definitely free"
+ * without a database round trip.
+ *
+ * A negative answer is exact for everything this instance has seen: the filters
+ * are built from the users table at startup and every rebuild-interval-ms, and
+ * every registration here is added as soon as it commits. A positive answer
+ * only means "maybe taken" and has to be confirmed in the database. Users registered by
+ * other instances show up at the next rebuild; until then the unique constraints
+ * still reject them as duplicates on insert.
+ */
+@Component
+@Slf4j
+public class UserAvailabilityIndex {
+
+    private static final int PAGE_SIZE = 10_000;
+
+    private record Filters(BloomFilter usernames, BloomFilter emails, long users) {
+    }
+
+    private final UserRepository userRepository;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+
+    private final Counter freeCounter;
+    private final Counter maybeTakenCounter;
+
+    private volatile Filters filters;
+    /** Registrations seen while a rebuild is running, replayed into the rebuilt filters. */
+    private List<String[]> addedDuringRebuild;
+
+    public UserAvailabilityIndex(UserRepository userRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${signup.availability.expected-users:1000000}") long expectedUsers,
+                                 @Value("${signup.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        Gauge.builder("lms.signup.availability.users", this, index -> index.filters != null ? index.filters.users() : 0)
+                .description("Users in the availability filters at the last rebuild")
+                .register(meterRegistry);
+        this.freeCounter = Counter.builder("lms.signup.availability.lookups")
+                .tag("result", "free")
+                .description("Username or email lookups answered by the filters alone")
+                .register(meterRegistry);
+        this.maybeTakenCounter = Counter.builder("lms.signup.availability.lookups")
+                .tag("result", "maybe_taken")
+                .description("Username or email lookups that need the database to confirm")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuilds both filters from the database; runs once at startup and then every
+     * rebuild interval. Sized for twice the current users, so the false positive rate
+     * holds as the table grows until the next rebuild.
+     */
+    @Scheduled(fixedDelayString = "${signup.availability.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        synchronized (this) {
+            addedDuringRebuild = new ArrayList<>();
+        }
+        Filters fresh;
+        try {
+            fresh = load();
+        } catch (RuntimeException e) {
+            log.error("Could not load users for the availability index, keeping the previous one", e);
+            synchronized (this) {
+                addedDuringRebuild = null;
+            }
+            return;
+        }
+        synchronized (this) {
+            for (String[] added : addedDuringRebuild) {
+                put(fresh, added[0], added[1]);
+            }
+            addedDuringRebuild = null;
+            filters = fresh;
+        }
+        log.info("Availability index rebuilt with {} users ({} bits per filter) in {} ms",
+                fresh.users(), fresh.usernames().bitCount(), System.currentTimeMillis() - started);
+    }
+
+    private Filters load() {
+        long capacity = Math.max(expectedUsers, 2 * userRepository.count());
+        BloomFilter usernames = BloomFilter.create(capacity, falsePositiveRate);
+        BloomFilter emails = BloomFilter.create(capacity, falsePositiveRate);
+        long users = 0;
+        long afterId = 0;
+        List<UserKeys> page;
+        do {
+            page = userRepository.findKeysAfter(afterId, PageRequest.ofSize(PAGE_SIZE));
+            for (UserKeys user : page) {
+                usernames.put(key(user.getUsername()));
+                emails.put(key(user.getEmail()));
+                afterId = user.getId();
+            }
+            users += page.size();
+        } while (page.size() == PAGE_SIZE);
+        return new Filters(usernames, emails, users);
+    }
+
+    /**
+     * Records a new user once the current transaction has committed. Added any earlier,
+     * a rebuild that started before the commit could read the table without the user
+     * and still drop it from the rebuilt filters.
+     */
+    public void userRegistered(String username, String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(username, email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(username, email);
+            }
+        });
+    }
+
+    private void add(String username, String email) {
+        synchronized (this) {
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(new String[] { username, email });
+            }
+        }
+        Filters current = filters;
+        if (current != null) {
+            put(current, username, email);
+        }
+    }
+
+    /** True only if no user has this username; false means "maybe taken" or "not built yet". */
+    public boolean isUsernameFree(String username) {
+        Filters current = filters;
+        return current != null && count(!current.usernames().mightContain(key(username)));
+    }
+
+    /** True only if no user has this email; false means "maybe taken" or "not built yet". */
+    public boolean isEmailFree(String email) {
+        Filters current = filters;
+        return current != null && count(!current.emails().mightContain(key(email)));
+    }
+
+    private boolean count(boolean free) {
+        (free ? freeCounter : maybeTakenCounter).increment();
+        return free;
+    }
+
+    private static void put(Filters filters, String username, String email) {
+        filters.usernames().put(key(username));
+        filters.emails().put(key(email));
+    }
+
+    /** Usernames and emails are unique case-insensitively in MySQL, so the filters ignore case as well. */
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,13 @@
+package com.health.spry.repository;
+
+/**
+ * The unique columns of a user, read in id order to build the availability index.
+ */
+public interface UserKeys {
+
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+}
@@ -1,8 +1,12 @@
 package com.health.spry.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.health.spry.model.User;
@@ -19,4 +23,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByUsernameOrEmail(String username, String mail);
     
     Boolean existsByEmail(String email);
+
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserKeys> findKeysAfter(@Param("afterId") long afterId, Pageable pageable);
 }
@@ -0,0 +1,91 @@
+package com.health.spry.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.health.spry.exception.SignupUnavailableException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs BCrypt on a fixed pool of threads with a bounded queue.
+ *
+ * BCrypt is deliberately slow and CPU bound; more hashes at once than there are
+ * cores only make each one slower. A signup burst therefore queues here, outside
+ * any transaction and without a database connection, and once queue-capacity
+ * hashes are waiting further signups are turned away with 503 instead of piling up.
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          MeterRegistry meterRegistry,
+                          @Value("${signup.password-hashing.threads:0}") int threads,
+                          @Value("${signup.password-hashing.queue-capacity:100}") int queueCapacity,
+                          @Value("${signup.password-hashing.timeout-ms:10000}") long timeoutMs) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMs = timeoutMs;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Gauge.builder("lms.signup.password-hashing.queued", executor, pool -> pool.getQueue().size())
+                .description("Passwords waiting for a hashing thread")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Hashes the password, waiting at most timeout-ms for a thread and the hash itself.
+     *
+     * @throws SignupUnavailableException if the queue is full or the hash took too long
+     */
+    public String hash(String rawPassword) {
+        Future<String> hash;
+        try {
+            hash = executor.submit(() -> passwordEncoder.encode(rawPassword));
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing queue full, rejecting signup");
+            throw new SignupUnavailableException("Too many signups in progress, please try again shortly");
+        }
+        try {
+            return hash.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            hash.cancel(true);
+            throw new SignupUnavailableException("Too many signups in progress, please try again shortly");
+        } catch (InterruptedException e) {
+            hash.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new SignupUnavailableException("Signup interrupted, please try again");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
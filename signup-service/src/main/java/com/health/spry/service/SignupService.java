@@ -1,13 +1,17 @@
 package com.health.spry.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import com.health.spry.client.LoginUserCacheClient;
+import com.health.spry.dto.AvailabilityRequest;
+import com.health.spry.dto.AvailabilityResponse;
 import com.health.spry.dto.SignupRequest;
 import com.health.spry.dto.SignupResponse;
+import com.health.spry.exception.ConstraintViolations;
 import com.health.spry.exception.UserAlreadyExistsException;
+import com.health.spry.index.UserAvailabilityIndex;
 import com.health.spry.model.User;
 import com.health.spry.repository.UserRepository;
 
@@ -19,36 +23,81 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class SignupService {
 
+    private static final String USER_EXISTS_MESSAGE = "User with the Username or Email already Exists";
+
 	@Autowired
     private final UserRepository userRepository;
     
 	@Autowired
-	private final PasswordEncoder passwordEncoder;
+	private final PasswordHasher passwordHasher;
+
+    private final LoginUserCacheClient loginUserCacheClient;
+
+    private final UserAvailabilityIndex userAvailabilityIndex;
+
+    /**
+     * Not transactional: a free username or email is usually answered by the availability
+     * index alone, without taking a database connection.
+     */
+    public AvailabilityResponse checkAvailability(AvailabilityRequest request) {
+        AvailabilityResponse.AvailabilityResponseBuilder response = AvailabilityResponse.builder();
+        if (request.getUsername() != null) {
+            String username = request.getUsername();
+            response.username(username)
+                    .usernameAvailable(userAvailabilityIndex.isUsernameFree(username)
+                            || !userRepository.existsByUsername(username));
+        }
+        if (request.getEmail() != null) {
+            String email = request.getEmail();
+            response.email(email)
+                    .emailAvailable(userAvailabilityIndex.isEmailFree(email)
+                            || !userRepository.existsByEmail(email));
+        }
+        return response.build();
+    }
 
-    @Transactional
+    /**
+     * Not transactional: BCrypt takes far longer than the insert, so the password is
+     * hashed first and the insert runs in its own short transaction in saveAndFlush.
+     */
     public SignupResponse registerUser(SignupRequest request) {
         log.info("Attempting to register user with username: {}", request.getUsername());
 
-        // Check if username or Email already exists
-        if (userRepository.existsByUsernameOrEmail(request.getUsername(),request.getEmail())) {
+        // Most signups pick a free username and email, which the availability index confirms
+        // without a query; the unique constraints catch anything it has not seen yet
+        boolean definitelyFree = userAvailabilityIndex.isUsernameFree(request.getUsername())
+                && userAvailabilityIndex.isEmailFree(request.getEmail());
+        if (!definitelyFree && userRepository.existsByUsernameOrEmail(request.getUsername(), request.getEmail())) {
             log.error("Username already exists: {}", request.getUsername());
-            throw new UserAlreadyExistsException("User with the Username or Email already Exists");
+            throw new UserAlreadyExistsException(USER_EXISTS_MESSAGE);
         }
 
-       
+        String passwordHash = passwordHasher.hash(request.getPassword());
 
         // Create new user
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHash)
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .active(true)
                 .build();
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (!ConstraintViolations.isDuplicateKey(e)) {
+                throw e;
+            }
+            log.error("Username or email already exists: {}", request.getUsername());
+            throw new UserAlreadyExistsException(USER_EXISTS_MESSAGE);
+        }
         log.info("User registered successfully with id: {}", savedUser.getId());
+        userAvailabilityIndex.userRegistered(savedUser.getUsername(), savedUser.getEmail());
+        // login-service may have cached the username as unknown
+        loginUserCacheClient.userChanged(savedUser.getUsername());
 
         return SignupResponse.builder()
                 .id(savedUser.getId())
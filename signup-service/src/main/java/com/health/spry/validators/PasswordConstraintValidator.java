@@ -15,26 +15,20 @@ import com.health.spry.annotations.ValidPassword;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
+/**
+ * Hibernate Validator creates one instance per {@link ValidPassword} usage and calls
+ * initialize once, so the Passay validator and its rules are built there and shared
+ * by every validation; they hold no per-password state.
+ */
+public class PasswordConstraintValidator implements ConstraintValidator<ValidPassword, String> {
 
-
-public class PasswordConstraintValidator implements ConstraintValidator<ValidPassword, String> {private int minLength;
-private int maxLength;
+private PasswordValidator validator;
 
 @Override
 public void initialize(ValidPassword constraintAnnotation) {
-    this.minLength = constraintAnnotation.minLength();
-    this.maxLength = constraintAnnotation.maxLength();
-}
-
-@Override
-public boolean isValid(String password, ConstraintValidatorContext context) {
-    if (password == null) {
-        return false;
-    }
-    
-    PasswordValidator validator = new PasswordValidator(Arrays.asList(
+    this.validator = new PasswordValidator(Arrays.asList(
         // Length rule
-        new LengthRule(minLength, maxLength),
+        new LengthRule(constraintAnnotation.minLength(), constraintAnnotation.maxLength()),
         
         // At least one uppercase character
         new CharacterRule(EnglishCharacterData.UpperCase, 1),
@@ -48,6 +42,13 @@ public boolean isValid(String password, ConstraintValidatorContext context) {
         // No whitespace allowed
         new WhitespaceRule()
     ));
+}
+
+@Override
+public boolean isValid(String password, ConstraintValidatorContext context) {
+    if (password == null) {
+        return false;
+    }
     
     RuleResult result = validator.validate(new PasswordData(password));
     
@@ -62,4 +63,4 @@ public boolean isValid(String password, ConstraintValidatorContext context) {
     ).addConstraintViolation();
     
     return false;
-}}
\ No newline at end of file
+}}